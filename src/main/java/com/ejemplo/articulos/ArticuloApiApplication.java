@@ -3,6 +3,7 @@ package com.ejemplo.articulos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación de gestión de artículos
@@ -17,6 +18,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * 3. @ComponentScan - Escanea este paquete y sus subpaquetes buscando componentes
  *    de Spring (controladores, servicios, repositorios, etc.)
  * 
+ * Además, @EnableScheduling activa las tareas periódicas (@Scheduled), como
+ * el decaimiento del rastreador de artículos populares.
+ * 
  * Cuando Spring Boot arranca, automáticamente detecta:
  * - Nuestros controladores REST en el paquete controller
  * - Nuestros servicios en el paquete service  
@@ -28,6 +32,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @version 1.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class ArticuloApiApplication {
     
     /**
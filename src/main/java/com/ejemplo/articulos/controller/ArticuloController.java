@@ -2,10 +2,13 @@
 package com.ejemplo.articulos.controller;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,7 +18,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException;
 import com.ejemplo.articulos.service.ArticuloService;
+import com.ejemplo.articulos.service.Lectura;
 
 /**
  * Controlador REST para la gestión de artículos
@@ -36,14 +41,23 @@ import com.ejemplo.articulos.service.ArticuloService;
  * - PUT /api/articulos/{id} -> actualizar existente
  * - DELETE /api/articulos/{id} -> eliminar
  * 
+ * Si la base de datos no responde, los GET pueden devolver la última copia
+ * buena del catálogo; en ese caso añadimos la cabecera X-Datos-Obsoletos.
+ * Las escrituras, en cambio, responden 503 Service Unavailable.
+ * 
  * @author Sistema de Gestión de Artículos
  * @version 1.0
  */
-@CrossOrigin(origins = "*") // Permite solicitudes desde cualquier origen
+@CrossOrigin(origins = "*", exposedHeaders = ArticuloController.CABECERA_DATOS_OBSOLETOS) // Permite solicitudes desde cualquier origen
 @RestController // Combina @Controller + @ResponseBody
 @RequestMapping("/api/articulos") // Ruta base para todos los endpoints
 public class ArticuloController {
 
+    /**
+     * Cabecera que marca las respuestas servidas desde la copia en memoria
+     */
+    public static final String CABECERA_DATOS_OBSOLETOS = "X-Datos-Obsoletos";
+
     /**
      * Servicio que contiene la lógica de negocio
      * 
@@ -69,8 +83,9 @@ public class ArticuloController {
      * @return Lista de todos los artículos en formato JSON
      */
     @GetMapping
-    public List<Articulo> listar() {
-        return articuloService.listarArticulos();
+    public ResponseEntity<List<Articulo>> listar() {
+        Lectura<List<Articulo>> lectura = articuloService.leerArticulos();
+        return conEstado(lectura, ResponseEntity.ok()).body(lectura.valor());
     }
 
     /**
@@ -83,9 +98,10 @@ public class ArticuloController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<Articulo> obtenerPorId(@PathVariable Long id) {
-        return articuloService.obtenerArticuloPorId(id)
-                .map(ResponseEntity::ok) // Si existe, devuelve 200 OK
-                .orElse(ResponseEntity.notFound().build()); // Si no existe, devuelve 404
+        Lectura<Optional<Articulo>> lectura = articuloService.leerArticuloPorId(id);
+        return lectura.valor()
+                .map(articulo -> conEstado(lectura, ResponseEntity.ok()).body(articulo)) // Si existe, devuelve 200 OK
+                .orElse(conEstado(lectura, ResponseEntity.status(HttpStatus.NOT_FOUND)).build()); // Si no existe, devuelve 404
     }
 
     /**
@@ -105,6 +121,9 @@ public class ArticuloController {
             // Intentamos guardar el artículo
             Articulo nuevoArticulo = articuloService.guardarArticulo(articulo);
             return ResponseEntity.ok(nuevoArticulo);
+        } catch (ServicioNoDisponibleException e) {
+            // La base de datos no está disponible: no es culpa del cliente
+            return servicioNoDisponible(e);
         } catch (RuntimeException e) {
             // Si hay algún error de validación, devolvemos un 400 Bad Request
             // con el mensaje específico del error
@@ -133,6 +152,8 @@ public class ArticuloController {
             // Intentamos actualizar el artículo
             Articulo articuloActualizado = articuloService.actualizarArticulo(id, articulo);
             return ResponseEntity.ok(articuloActualizado);
+        } catch (ServicioNoDisponibleException e) {
+            return servicioNoDisponible(e);
         } catch (RuntimeException e) {
             // Si hay errores de validación, devolvemos el mensaje específico
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -160,4 +181,28 @@ public class ArticuloController {
         // Devolvemos 204 No Content para indicar que se eliminó exitosamente
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Responde 503 cuando la base de datos no está disponible
+     * 
+     * Cubre los casos que no capturamos dentro de cada endpoint, por ejemplo
+     * un DELETE con el circuito abierto o un GET sin copia en memoria.
+     * 
+     * @param e La excepción con el motivo
+     * @return ResponseEntity 503 con el mensaje de error
+     */
+    @ExceptionHandler(ServicioNoDisponibleException.class)
+    public ResponseEntity<String> servicioNoDisponible(ServicioNoDisponibleException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    /**
+     * Añade la cabecera de datos obsoletos si la lectura salió de la copia en memoria
+     */
+    private ResponseEntity.BodyBuilder conEstado(Lectura<?> lectura, ResponseEntity.BodyBuilder respuesta) {
+        if (lectura.obsoleta()) {
+            respuesta.header(CABECERA_DATOS_OBSOLETOS, "true");
+        }
+        return respuesta;
+    }
 }
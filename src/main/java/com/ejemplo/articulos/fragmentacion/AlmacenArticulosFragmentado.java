@@ -0,0 +1,408 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+
+/**
+ * Almacén de artículos repartido entre varias bases de datos (sharding)
+ * 
+ * Cada artículo vive en un único fragmento, elegido a partir de un hash de
+ * su ID. Así:
+ * - Buscar, actualizar o borrar por ID toca un solo fragmento
+ * - Los listados y búsquedas por precio se lanzan en paralelo a todos los
+ *   fragmentos ("scatter-gather") y los resultados, que ya vienen ordenados
+ *   de cada uno, se mezclan como en un merge-sort
+ * - La unicidad del nombre se garantiza con el {@link DirectorioNombres}
+ * - Los IDs nuevos salen del {@link GeneradorIds}, no del auto-incremento
+ * 
+ * El directorio y los fragmentos son bases de datos distintas, así que no hay
+ * una transacción que los abarque a todos. Reservamos el nombre antes de
+ * escribir en el fragmento y lo liberamos si la escritura falla, pero si la
+ * aplicación se cae (o se corta la conexión) entre los dos pasos el nombre
+ * queda reservado sin artículo. Lo mismo pasa si falla la liberación tras un
+ * borrado o un cambio de nombre. Estas reservas huérfanas se reparan solas:
+ * cuando alguien pregunta por un nombre reservado hace más de un periodo de
+ * gracia, comprobamos en el fragmento del propietario que el artículo existe
+ * y sigue llamándose así; si no, liberamos el nombre.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class AlmacenArticulosFragmentado implements AlmacenArticulos, AutoCloseable {
+
+    private static final RowMapper<Articulo> MAPEADOR = (rs, fila) ->
+            new Articulo(rs.getLong("id"), rs.getString("nombre"), rs.getDouble("precio"));
+
+    private static final Comparator<Articulo> POR_ID = Comparator.comparing(Articulo::getId);
+
+    private static final Comparator<Articulo> POR_PRECIO =
+            Comparator.comparing(Articulo::getPrecio).thenComparing(Articulo::getId);
+
+    private final List<JdbcTemplate> fragmentos;
+    private final DirectorioNombres directorioNombres;
+    private final GeneradorIds generadorIds;
+    private final long timeoutConsultaMs;
+
+    /**
+     * Tiempo que damos a una reserva recién hecha antes de considerarla huérfana
+     * 
+     * Una reserva reciente puede pertenecer a un guardado que todavía no
+     * ha escrito en su fragmento; no hay que tocarla.
+     */
+    private final Duration graciaReserva;
+
+    /**
+     * Hilos para consultar todos los fragmentos en paralelo
+     */
+    private final ExecutorService ejecutor;
+
+    /**
+     * Crea el almacén
+     * 
+     * @param fragmentos Acceso a cada fragmento, en orden fijo
+     * @param directorioNombres Directorio global de nombres
+     * @param generadorIds Generador de IDs únicos
+     * @param timeoutConsultaMs Tiempo máximo total de una consulta a todos los fragmentos
+     * @param consultasConcurrentes Cuántas consultas a todos los fragmentos pueden ir a la vez
+     * @param graciaReserva Antigüedad a partir de la cual se revisan las reservas de nombres
+     */
+    public AlmacenArticulosFragmentado(List<JdbcTemplate> fragmentos, DirectorioNombres directorioNombres,
+                                       GeneradorIds generadorIds, long timeoutConsultaMs,
+                                       int consultasConcurrentes, Duration graciaReserva) {
+        if (fragmentos.isEmpty()) {
+            throw new IllegalArgumentException("Debe configurarse al menos un fragmento");
+        }
+        this.fragmentos = List.copyOf(fragmentos);
+        this.directorioNombres = directorioNombres;
+        this.generadorIds = generadorIds;
+        this.timeoutConsultaMs = timeoutConsultaMs;
+        this.graciaReserva = graciaReserva;
+
+        // Cada consulta ocupa un hilo por fragmento
+        AtomicInteger contadorHilos = new AtomicInteger();
+        this.ejecutor = Executors.newFixedThreadPool(fragmentos.size() * Math.max(1, consultasConcurrentes), tarea -> {
+            Thread hilo = new Thread(tarea, "fragmento-" + contadorHilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Crea la tabla articulo en cada fragmento si no existe
+     */
+    public void inicializarEsquema() {
+        for (JdbcTemplate fragmento : fragmentos) {
+            fragmento.execute("CREATE TABLE IF NOT EXISTS articulo ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "nombre VARCHAR(100) NOT NULL, "
+                    + "precio DOUBLE PRECISION NOT NULL)");
+        }
+    }
+
+    @Override
+    public List<Articulo> findAll() {
+        return consultarTodos(fragmento -> fragmento.query(
+                "SELECT id, nombre, precio FROM articulo ORDER BY id", MAPEADOR), POR_ID);
+    }
+
+    @Override
+    public Optional<Articulo> findById(Long id) {
+        return fragmentoDe(id)
+                .query("SELECT id, nombre, precio FROM articulo WHERE id = ?", MAPEADOR, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Articulo> findByPrecioBetween(Double min, Double max) {
+        return consultarTodos(fragmento -> fragmento.query(
+                "SELECT id, nombre, precio FROM articulo WHERE precio BETWEEN ? AND ? ORDER BY precio, id",
+                MAPEADOR, min, max), POR_PRECIO);
+    }
+
+    @Override
+    public boolean existsByNombre(String nombre) {
+        return propietario(nombre).isPresent();
+    }
+
+    @Override
+    public boolean existsByNombreAndIdNot(String nombre, Long id) {
+        return propietario(nombre).filter(propietario -> !propietario.equals(id)).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Si el artículo no tiene ID, o su ID no existe en el fragmento, se
+     * inserta con un ID nuevo del generador (igual que JPA con un ID
+     * desconocido). Nunca insertamos un ID elegido por el llamador: el
+     * generador podría entregarlo más tarde y chocaría.
+     * 
+     * Si el nombre cambia, se reserva el nuevo antes de escribir y se
+     * libera el anterior después. Si el directorio dice que el nombre nuevo
+     * ya es de este artículo (su collation no distingue, por ejemplo,
+     * "Café" de "café"), la reserva que tiene sirve para los dos y no se
+     * toca: liberar el nombre anterior borraría esa misma fila.
+     */
+    @Override
+    public Articulo save(Articulo articulo) {
+        Optional<Articulo> anterior = articulo.getId() == null ? Optional.empty() : findById(articulo.getId());
+        if (anterior.isEmpty()) {
+            articulo.setId(generadorIds.siguienteId());
+        }
+        long id = articulo.getId();
+        String nombreAnterior = anterior.map(Articulo::getNombre).orElse(null);
+        boolean reservaNueva = !articulo.getNombre().equals(nombreAnterior) && reservar(articulo.getNombre(), id);
+
+        try {
+            JdbcTemplate fragmento = fragmentoDe(id);
+            if (anterior.isPresent()) {
+                fragmento.update("UPDATE articulo SET nombre = ?, precio = ? WHERE id = ?",
+                        articulo.getNombre(), articulo.getPrecio(), id);
+            } else {
+                fragmento.update("INSERT INTO articulo (id, nombre, precio) VALUES (?, ?, ?)",
+                        id, articulo.getNombre(), articulo.getPrecio());
+            }
+        } catch (RuntimeException e) {
+            // La escritura falló: devolvemos el nombre nuevo al directorio
+            if (reservaNueva) {
+                directorioNombres.liberar(articulo.getNombre(), id);
+            }
+            throw e;
+        }
+
+        if (reservaNueva && nombreAnterior != null) {
+            directorioNombres.liberar(nombreAnterior, id);
+        }
+        return articulo;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Optional<Articulo> articulo = findById(id);
+        if (articulo.isEmpty()) {
+            return;
+        }
+        fragmentoDe(id).update("DELETE FROM articulo WHERE id = ?", id);
+        directorioNombres.liberar(articulo.get().getNombre(), id);
+    }
+
+    /**
+     * Copia un artículo que ya tiene ID, conservándolo
+     * 
+     * Solo para migrar el catálogo existente: los IDs vienen del
+     * auto-incremento de la tabla original y el generador se ajusta después
+     * para no repetirlos. Si el artículo ya estaba copiado no hace nada.
+     * 
+     * @param articulo El artículo a copiar
+     * @return true si se copió, false si ya estaba o su nombre lo usa otro artículo
+     */
+    public boolean importar(Articulo articulo) {
+        long id = articulo.getId();
+        Optional<Long> propietario = directorioNombres.buscar(articulo.getNombre())
+                .map(DirectorioNombres.Reserva::articuloId);
+        if (propietario.isPresent() && propietario.get() != id) {
+            return false;
+        }
+        try {
+            if (propietario.isEmpty()) {
+                directorioNombres.reservar(articulo.getNombre(), id);
+            }
+            if (findById(id).isPresent()) {
+                return false;
+            }
+            fragmentoDe(id).update("INSERT INTO articulo (id, nombre, precio) VALUES (?, ?, ?)",
+                    id, articulo.getNombre(), articulo.getPrecio());
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Otra instancia está migrando a la vez y se nos adelantó
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene el número de fragmentos configurados
+     * 
+     * @return Cuántas bases de datos almacenan artículos
+     */
+    public int getNumeroFragmentos() {
+        return fragmentos.size();
+    }
+
+    /**
+     * Indica en qué fragmento vive un ID
+     * 
+     * @param id El ID del artículo
+     * @return El índice del fragmento, en el orden de configuración
+     */
+    public int indiceFragmento(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        // Mezclamos los bits del ID antes del módulo para que IDs consecutivos
+        // (que salen del mismo bloque) se repartan de forma pareja
+        return (int) Math.floorMod(h, (long) fragmentos.size());
+    }
+
+    /**
+     * Reserva un nombre, reparando una reserva huérfana si es lo que lo bloquea
+     * 
+     * @return true si se hizo una reserva nueva, false si el artículo ya tenía
+     *         reservado un nombre equivalente según la collation del directorio
+     */
+    private boolean reservar(String nombre, long id) {
+        for (int intento = 0; ; intento++) {
+            try {
+                directorioNombres.reservar(nombre, id);
+                return true;
+            } catch (DuplicateKeyException e) {
+                Optional<Long> propietario = propietario(nombre);
+                if (propietario.isPresent() && propietario.get() == id) {
+                    return false;
+                }
+                // Si no hay propietario la reserva era huérfana y acaba de
+                // liberarse: lo intentamos una vez más
+                if (propietario.isPresent() || intento > 0) {
+                    throw new RuntimeException("Ya existe un artículo con el nombre: " + nombre, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca qué artículo usa un nombre, liberando la reserva si está huérfana
+     * 
+     * Una reserva sigue vigente si su artículo existe y el nombre actual del
+     * artículo lleva a esa misma reserva. Lo comprobamos con otra búsqueda en
+     * el directorio, no con equals(), para que decida la collation de la base
+     * de datos igual que al reservar.
+     */
+    private Optional<Long> propietario(String nombre) {
+        Optional<DirectorioNombres.Reserva> reserva = directorioNombres.buscar(nombre);
+        if (reserva.isEmpty()) {
+            return Optional.empty();
+        }
+        DirectorioNombres.Reserva encontrada = reserva.get();
+        if (encontrada.reservadoEn().plus(graciaReserva).isAfter(Instant.now())) {
+            return Optional.of(encontrada.articuloId());
+        }
+        boolean vigente = findById(encontrada.articuloId())
+                .flatMap(articulo -> directorioNombres.buscar(articulo.getNombre()))
+                .map(actual -> actual.equals(encontrada))
+                .orElse(false);
+        if (vigente) {
+            return Optional.of(encontrada.articuloId());
+        }
+        directorioNombres.liberar(encontrada.nombre(), encontrada.articuloId());
+        return Optional.empty();
+    }
+
+    /**
+     * Devuelve el fragmento de un artículo a partir de su ID
+     */
+    private JdbcTemplate fragmentoDe(long id) {
+        return fragmentos.get(indiceFragmento(id));
+    }
+
+    /**
+     * Lanza la misma consulta en todos los fragmentos y mezcla los resultados
+     * 
+     * Hay un único plazo para todos los fragmentos juntos, no uno por
+     * fragmento. Cada fragmento devuelve su parte ya ordenada, así que basta
+     * con una mezcla de k listas ordenadas (como el último paso de un merge-sort).
+     */
+    private List<Articulo> consultarTodos(Function<JdbcTemplate, List<Articulo>> consulta,
+                                          Comparator<Articulo> orden) {
+        List<CompletableFuture<List<Articulo>>> futuros = new ArrayList<>();
+        for (JdbcTemplate fragmento : fragmentos) {
+            futuros.add(CompletableFuture.supplyAsync(() -> consulta.apply(fragmento), ejecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futuros.toArray(CompletableFuture[]::new))
+                    .get(timeoutConsultaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuros.forEach(futuro -> futuro.cancel(true));
+            // Excepciones de Spring para que el circuit breaker las cuente como fallo
+            throw new QueryTimeoutException("Los fragmentos no respondieron a tiempo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Consulta a los fragmentos interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new DataAccessResourceFailureException("Error al consultar los fragmentos", e.getCause());
+        }
+
+        List<List<Articulo>> partes = new ArrayList<>();
+        futuros.forEach(futuro -> partes.add(futuro.join()));
+        return mezclar(partes, orden);
+    }
+
+    /**
+     * Mezcla listas ya ordenadas en una sola lista ordenada
+     */
+    private static List<Articulo> mezclar(List<List<Articulo>> partes, Comparator<Articulo> orden) {
+        // Cada entrada de la cola es {índice de la parte, posición dentro de la parte}
+        PriorityQueue<int[]> cola = new PriorityQueue<>(
+                (a, b) -> orden.compare(partes.get(a[0]).get(a[1]), partes.get(b[0]).get(b[1])));
+        int total = 0;
+        for (int i = 0; i < partes.size(); i++) {
+            total += partes.get(i).size();
+            if (!partes.get(i).isEmpty()) {
+                cola.add(new int[] {i, 0});
+            }
+        }
+
+        List<Articulo> resultado = new ArrayList<>(total);
+        while (!cola.isEmpty()) {
+            int[] cabeza = cola.poll();
+            List<Articulo> parte = partes.get(cabeza[0]);
+            resultado.add(parte.get(cabeza[1]));
+            if (cabeza[1] + 1 < parte.size()) {
+                cola.add(new int[] {cabeza[0], cabeza[1] + 1});
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Detiene los hilos de consulta y cierra las conexiones de los fragmentos
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+        for (JdbcTemplate fragmento : fragmentos) {
+            if (fragmento.getDataSource() instanceof AutoCloseable cerrable) {
+                try {
+                    cerrable.close();
+                } catch (Exception e) {
+                    // Estamos cerrando la aplicación; no hay nada más que hacer
+                }
+            }
+        }
+    }
+}
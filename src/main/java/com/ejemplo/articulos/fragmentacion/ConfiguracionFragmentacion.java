@@ -0,0 +1,88 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuración del almacén fragmentado de artículos
+ * 
+ * Solo se activa con articulos.fragmentacion.habilitada=true. Entonces:
+ * - Cada entrada de articulos.fragmentacion.fragmentos se convierte en un
+ *   DataSource propio (un fragmento)
+ * - La base de datos principal (spring.datasource) guarda el directorio
+ *   global de nombres y la secuencia de IDs
+ * - El servicio usa {@link AlmacenArticulosFragmentado} en lugar de JPA
+ * - Los artículos que ya hubiera en la tabla principal se copian a los
+ *   fragmentos ({@link MigracionCatalogoPrincipal})
+ * 
+ * Como los fragmentos son solo URLs JDBC, para probar basta con apuntarlos
+ * a varias bases de datos embebidas (por ejemplo, jdbc:h2:mem:fragmento0).
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "articulos.fragmentacion.habilitada", havingValue = "true")
+@EnableConfigurationProperties(PropiedadesFragmentacion.class)
+public class ConfiguracionFragmentacion {
+
+    /**
+     * Crea el almacén fragmentado y, si se pide, las tablas que necesita
+     * 
+     * @param propiedades La configuración de fragmentación
+     * @param principal La base de datos principal (directorio y secuencia)
+     * @param hilosLectura Lecturas simultáneas que admite el circuito de la base de datos
+     * @return El almacén que usará el servicio de artículos
+     */
+    @Bean(destroyMethod = "close")
+    public AlmacenArticulosFragmentado almacenArticulosFragmentado(
+            PropiedadesFragmentacion propiedades, DataSource principal,
+            @Value("${articulos.resiliencia.hilos-lectura:8}") int hilosLectura) {
+        JdbcTemplate jdbcPrincipal = new JdbcTemplate(principal);
+        TransactionTemplate transaccion = new TransactionTemplate(new DataSourceTransactionManager(principal));
+        DirectorioNombres directorio = new DirectorioNombres(jdbcPrincipal);
+        GeneradorIds generador = new GeneradorIds(jdbcPrincipal, transaccion, propiedades.getTamanoBloqueIds());
+
+        // Timeout de cada sentencia, para que una consulta que ya no esperamos
+        // no se quede ocupando un hilo y una conexión
+        int timeoutSentenciaSegundos = (int) Math.ceil(propiedades.getTimeoutConsultaMs() / 1000.0);
+
+        List<JdbcTemplate> fragmentos = new ArrayList<>();
+        for (PropiedadesFragmentacion.Fuente fuente : propiedades.getFragmentos()) {
+            DataSource fragmento = DataSourceBuilder.create()
+                    .url(fuente.getUrl())
+                    .username(fuente.getUsuario())
+                    .password(fuente.getContrasena())
+                    .build();
+            JdbcTemplate jdbc = new JdbcTemplate(fragmento);
+            jdbc.setQueryTimeout(timeoutSentenciaSegundos);
+            fragmentos.add(jdbc);
+        }
+
+        AlmacenArticulosFragmentado almacen = new AlmacenArticulosFragmentado(
+                fragmentos, directorio, generador, propiedades.getTimeoutConsultaMs(), hilosLectura,
+                Duration.ofMillis(propiedades.getGraciaReservaMs()));
+        if (propiedades.isInicializarEsquema()) {
+            directorio.inicializarEsquema();
+            generador.inicializarEsquema();
+            almacen.inicializarEsquema();
+        }
+        if (propiedades.isMigrarCatalogoPrincipal()) {
+            new MigracionCatalogoPrincipal(jdbcPrincipal, almacen, generador).migrar();
+        }
+        return almacen;
+    }
+}
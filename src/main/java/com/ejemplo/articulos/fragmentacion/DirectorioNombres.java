@@ -0,0 +1,97 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Directorio global de nombres de artículos
+ * 
+ * En una sola base de datos la restricción UNIQUE de la columna nombre
+ * impide duplicados. Con los artículos repartidos entre fragmentos, cada
+ * fragmento solo ve sus propias filas, así que guardamos todos los nombres
+ * en una tabla de la base de datos principal cuya clave primaria es el nombre.
+ * 
+ * Reservar un nombre es un INSERT: si dos peticiones compiten por el mismo
+ * nombre, la base de datos deja pasar solo a una.
+ * 
+ * Cada reserva guarda cuándo se hizo, para que el almacén pueda distinguir
+ * una reserva de un guardado en curso de una que quedó huérfana.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class DirectorioNombres {
+
+    /**
+     * Un nombre reservado, con su artículo y el momento de la reserva
+     * 
+     * @param nombre El nombre reservado
+     * @param articuloId El artículo que lo tiene reservado
+     * @param reservadoEn Cuándo se hizo la reserva
+     */
+    public record Reserva(String nombre, long articuloId, Instant reservadoEn) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Crea el directorio sobre la base de datos principal
+     * 
+     * @param jdbc Acceso a la base de datos principal
+     */
+    public DirectorioNombres(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Crea la tabla del directorio si no existe
+     */
+    public void inicializarEsquema() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS articulo_nombre ("
+                + "nombre VARCHAR(100) NOT NULL PRIMARY KEY, "
+                + "articulo_id BIGINT NOT NULL, "
+                + "reservado_en TIMESTAMP NOT NULL)");
+    }
+
+    /**
+     * Busca qué artículo usa un nombre
+     * 
+     * @param nombre El nombre a buscar
+     * @return Optional con la reserva, vacío si el nombre está libre
+     */
+    public Optional<Reserva> buscar(String nombre) {
+        List<Reserva> reservas = jdbc.query(
+                "SELECT nombre, articulo_id, reservado_en FROM articulo_nombre WHERE nombre = ?",
+                (rs, fila) -> new Reserva(rs.getString("nombre"), rs.getLong("articulo_id"),
+                        rs.getTimestamp("reservado_en").toInstant()),
+                nombre);
+        return reservas.stream().findFirst();
+    }
+
+    /**
+     * Reserva un nombre para un artículo
+     * 
+     * @param nombre El nombre a reservar
+     * @param articuloId El artículo que lo usará
+     * @throws org.springframework.dao.DuplicateKeyException si otro artículo ya lo tiene
+     */
+    public void reservar(String nombre, long articuloId) {
+        // La hora es la de la aplicación, la misma con la que se compara después
+        jdbc.update("INSERT INTO articulo_nombre (nombre, articulo_id, reservado_en) VALUES (?, ?, ?)",
+                nombre, articuloId, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Libera un nombre, solo si pertenece al artículo indicado
+     * 
+     * @param nombre El nombre a liberar
+     * @param articuloId El artículo que lo tenía reservado
+     */
+    public void liberar(String nombre, long articuloId) {
+        jdbc.update("DELETE FROM articulo_nombre WHERE nombre = ? AND articulo_id = ?", nombre, articuloId);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generador de IDs únicos para todos los fragmentos
+ * 
+ * Con varias bases de datos no podemos usar el auto-incremento
+ * (GenerationType.IDENTITY): cada una empezaría en 1 y habría IDs repetidos.
+ * En su lugar usamos una tabla de secuencia en la base de datos principal
+ * y reservamos los IDs por bloques ("hi/lo"): cada instancia de la aplicación
+ * pide, por ejemplo, 100 IDs de golpe y los reparte en memoria.
+ * 
+ * Los IDs siguen siendo números pequeños y crecientes, así que el frontend
+ * (JavaScript) los maneja sin perder precisión.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class GeneradorIds {
+
+    private static final String SECUENCIA = "articulo";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaccion;
+    private final int tamanoBloque;
+
+    /**
+     * Siguiente ID a entregar y final (excluido) del bloque reservado
+     */
+    private long siguiente = 0;
+    private long limite = 0;
+
+    /**
+     * Crea el generador sobre la base de datos principal
+     * 
+     * @param jdbc Acceso a la base de datos principal
+     * @param transaccion Transacciones sobre esa misma base de datos
+     * @param tamanoBloque Cuántos IDs se reservan de una vez
+     */
+    public GeneradorIds(JdbcTemplate jdbc, TransactionTemplate transaccion, int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño del bloque de IDs debe ser mayor a 0");
+        }
+        this.jdbc = jdbc;
+        this.transaccion = transaccion;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    /**
+     * Crea la tabla de secuencia si no existe
+     */
+    public void inicializarEsquema() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS articulo_secuencia ("
+                + "nombre VARCHAR(50) NOT NULL PRIMARY KEY, "
+                + "siguiente BIGINT NOT NULL)");
+        try {
+            jdbc.update("INSERT INTO articulo_secuencia (nombre, siguiente) VALUES (?, 1)", SECUENCIA);
+        } catch (DuplicateKeyException e) {
+            // Otra instancia (o un arranque anterior) ya la creó
+        }
+    }
+
+    /**
+     * Entrega el siguiente ID libre
+     * 
+     * @return Un ID que ninguna otra instancia va a entregar
+     */
+    public synchronized long siguienteId() {
+        if (siguiente >= limite) {
+            reservarBloque();
+        }
+        return siguiente++;
+    }
+
+    /**
+     * Garantiza que no se entregarán IDs menores o iguales al indicado
+     * 
+     * Se usa al migrar artículos que ya tenían ID. Solo afecta a los bloques
+     * que se reserven a partir de ahora, así que debe llamarse antes de
+     * entregar el primer ID.
+     * 
+     * @param id El mayor ID que ya está en uso
+     */
+    public void saltarHasta(long id) {
+        jdbc.update("UPDATE articulo_secuencia SET siguiente = ? WHERE nombre = ? AND siguiente <= ?",
+                id + 1, SECUENCIA, id);
+    }
+
+    /**
+     * Reserva un bloque nuevo en la tabla de secuencia
+     * 
+     * El UPDATE bloquea la fila hasta el final de la transacción, así que dos
+     * instancias nunca reciben el mismo bloque.
+     */
+    private void reservarBloque() {
+        Long inicio = transaccion.execute(estado -> {
+            jdbc.update("UPDATE articulo_secuencia SET siguiente = siguiente + ? WHERE nombre = ?",
+                    tamanoBloque, SECUENCIA);
+            Long fin = jdbc.queryForObject("SELECT siguiente FROM articulo_secuencia WHERE nombre = ?",
+                    Long.class, SECUENCIA);
+            return fin - tamanoBloque;
+        });
+        siguiente = inicio;
+        limite = inicio + tamanoBloque;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ejemplo.articulos.model.Articulo;
+
+/**
+ * Copia a los fragmentos los artículos de la tabla articulo de la base principal
+ * 
+ * Antes de activar la fragmentación todos los artículos están en la tabla
+ * articulo de spring.datasource. Sin esta migración, al activar el flag el
+ * catálogo aparecería vacío. Al arrancar:
+ * 1. Si ya se migró (hay una marca en articulo_secuencia), no hace nada
+ * 2. Copia cada artículo a su fragmento conservando su ID y reserva su nombre
+ * 3. Ajusta el generador para que no repita esos IDs
+ * 4. Deja la marca para los siguientes arranques
+ * 
+ * Es idempotente: si se corta a medias, el siguiente arranque salta los
+ * artículos que ya estaban copiados. La tabla original no se modifica.
+ * 
+ * Hay que activar la fragmentación con las instancias antiguas paradas:
+ * lo que se escriba en la tabla principal después de migrar no se copia.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class MigracionCatalogoPrincipal {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionCatalogoPrincipal.class);
+
+    /**
+     * Fila de articulo_secuencia que indica que la migración ya se hizo
+     */
+    private static final String MARCA = "migracion-articulo";
+
+    private final JdbcTemplate principal;
+    private final AlmacenArticulosFragmentado almacen;
+    private final GeneradorIds generadorIds;
+
+    /**
+     * Crea la migración
+     * 
+     * @param principal Acceso a la base de datos principal
+     * @param almacen El almacén fragmentado de destino
+     * @param generadorIds El generador de IDs del almacén
+     */
+    public MigracionCatalogoPrincipal(JdbcTemplate principal, AlmacenArticulosFragmentado almacen,
+                                      GeneradorIds generadorIds) {
+        this.principal = principal;
+        this.almacen = almacen;
+        this.generadorIds = generadorIds;
+    }
+
+    /**
+     * Migra los artículos si no se hizo antes
+     * 
+     * @return Cuántos artículos se copiaron en esta ejecución
+     */
+    public int migrar() {
+        Integer marcas = principal.queryForObject(
+                "SELECT COUNT(*) FROM articulo_secuencia WHERE nombre = ?", Integer.class, MARCA);
+        if (marcas != null && marcas > 0) {
+            return 0;
+        }
+
+        List<Articulo> articulos;
+        try {
+            articulos = principal.query("SELECT id, nombre, precio FROM articulo ORDER BY id",
+                    (rs, fila) -> new Articulo(rs.getLong("id"), rs.getString("nombre"), rs.getDouble("precio")));
+        } catch (BadSqlGrammarException e) {
+            // La tabla no existe: no hay catálogo anterior que migrar
+            marcar(0);
+            return 0;
+        }
+
+        int copiados = 0;
+        long maximo = 0;
+        for (Articulo articulo : articulos) {
+            if (almacen.importar(articulo)) {
+                copiados++;
+            }
+            maximo = Math.max(maximo, articulo.getId());
+        }
+        generadorIds.saltarHasta(maximo);
+        marcar(maximo);
+
+        log.info("Migrados {} de {} artículos de la tabla principal a los fragmentos", copiados, articulos.size());
+        return copiados;
+    }
+
+    /**
+     * Deja la marca de migración hecha, con el mayor ID migrado
+     */
+    private void marcar(long maximo) {
+        try {
+            principal.update("INSERT INTO articulo_secuencia (nombre, siguiente) VALUES (?, ?)", MARCA, maximo);
+        } catch (DuplicateKeyException e) {
+            // Otra instancia terminó la migración a la vez
+        }
+    }
+}
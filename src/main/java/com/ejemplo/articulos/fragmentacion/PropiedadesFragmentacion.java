@@ -0,0 +1,163 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la fragmentación (sharding) de la tabla articulo
+ * 
+ * Se lee de application.properties con el prefijo articulos.fragmentacion:
+ * <pre>
+ * articulos.fragmentacion.habilitada=true
+ * articulos.fragmentacion.fragmentos[0].url=jdbc:mysql://bd1:3306/articulos_db
+ * articulos.fragmentacion.fragmentos[0].usuario=root
+ * articulos.fragmentacion.fragmentos[0].contrasena=secreto
+ * articulos.fragmentacion.fragmentos[1].url=jdbc:mysql://bd2:3306/articulos_db
+ * ...
+ * </pre>
+ * 
+ * El directorio global de nombres y el generador de IDs usan la base de datos
+ * principal (spring.datasource).
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "articulos.fragmentacion")
+public class PropiedadesFragmentacion {
+
+    /**
+     * Si es false se usa una sola base de datos con JPA
+     */
+    private boolean habilitada = false;
+
+    /**
+     * Bases de datos entre las que se reparten los artículos
+     * 
+     * El orden importa: el fragmento de cada artículo se calcula a partir
+     * de su ID y del número de fragmentos, así que no se puede cambiar
+     * sin migrar los datos.
+     */
+    private List<Fuente> fragmentos = new ArrayList<>();
+
+    /**
+     * Cuántos IDs reserva cada instancia de golpe en la tabla de secuencia
+     */
+    private int tamanoBloqueIds = 100;
+
+    /**
+     * Crear las tablas necesarias al arrancar si no existen
+     */
+    private boolean inicializarEsquema = true;
+
+    /**
+     * Tiempo máximo total de una consulta a todos los fragmentos
+     * 
+     * Debe ser menor que articulos.resiliencia.timeout-lectura-ms para que
+     * el almacén corte antes que el circuito y libere sus hilos.
+     */
+    private long timeoutConsultaMs = 1500;
+
+    /**
+     * Antigüedad a partir de la cual una reserva de nombre se comprueba
+     * contra su fragmento y se libera si quedó huérfana
+     */
+    private long graciaReservaMs = 60000;
+
+    /**
+     * Copiar a los fragmentos, al arrancar, los artículos de la tabla
+     * articulo de la base de datos principal
+     */
+    private boolean migrarCatalogoPrincipal = true;
+
+    /**
+     * Datos de conexión de una base de datos
+     */
+    public static class Fuente {
+
+        private String url;
+        private String usuario;
+        private String contrasena;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public void setUsuario(String usuario) {
+            this.usuario = usuario;
+        }
+
+        public String getContrasena() {
+            return contrasena;
+        }
+
+        public void setContrasena(String contrasena) {
+            this.contrasena = contrasena;
+        }
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    public void setHabilitada(boolean habilitada) {
+        this.habilitada = habilitada;
+    }
+
+    public List<Fuente> getFragmentos() {
+        return fragmentos;
+    }
+
+    public void setFragmentos(List<Fuente> fragmentos) {
+        this.fragmentos = fragmentos;
+    }
+
+    public int getTamanoBloqueIds() {
+        return tamanoBloqueIds;
+    }
+
+    public void setTamanoBloqueIds(int tamanoBloqueIds) {
+        this.tamanoBloqueIds = tamanoBloqueIds;
+    }
+
+    public boolean isInicializarEsquema() {
+        return inicializarEsquema;
+    }
+
+    public void setInicializarEsquema(boolean inicializarEsquema) {
+        this.inicializarEsquema = inicializarEsquema;
+    }
+
+    public long getTimeoutConsultaMs() {
+        return timeoutConsultaMs;
+    }
+
+    public void setTimeoutConsultaMs(long timeoutConsultaMs) {
+        this.timeoutConsultaMs = timeoutConsultaMs;
+    }
+
+    public long getGraciaReservaMs() {
+        return graciaReservaMs;
+    }
+
+    public void setGraciaReservaMs(long graciaReservaMs) {
+        this.graciaReservaMs = graciaReservaMs;
+    }
+
+    public boolean isMigrarCatalogoPrincipal() {
+        return migrarCatalogoPrincipal;
+    }
+
+    public void setMigrarCatalogoPrincipal(boolean migrarCatalogoPrincipal) {
+        this.migrarCatalogoPrincipal = migrarCatalogoPrincipal;
+    }
+}
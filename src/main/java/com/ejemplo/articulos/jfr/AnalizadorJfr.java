@@ -0,0 +1,278 @@
+package com.ejemplo.articulos.jfr;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Herramienta de línea de comandos para analizar una grabación JFR
+ * 
+ * Lee un fichero .jfr y muestra, para cada endpoint de /api/articulos:
+ * - Cuántas peticiones hubo y su latencia (p50, p95, p99 y máxima)
+ * - Cuánto tiempo se fue en cada fase: validación, repositorio y serialización
+ * - Cuánta memoria se asignó en total y por petición, incluyendo la de las
+ *   llamadas al repositorio que se ejecutaron en otros hilos
+ * 
+ * Uso:
+ * <pre>
+ * java -XX:StartFlightRecording=filename=articulos.jfr -jar target/articulo-api-mysql-1.0.0.jar
+ * java -cp target/classes com.ejemplo.articulos.jfr.AnalizadorJfr articulos.jfr
+ * </pre>
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public final class AnalizadorJfr {
+
+    /**
+     * Fases que se desglosan, en el orden en que se imprimen
+     */
+    private static final List<String> FASES = List.of("validacion", "repositorio", "serializacion");
+
+    private static final Map<String, String> FASE_POR_EVENTO = Map.of(
+            ValidacionEvent.NOMBRE, "validacion",
+            RepositorioEvent.NOMBRE, "repositorio",
+            SerializacionEvent.NOMBRE, "serializacion");
+
+    /**
+     * Datos acumulados de una petición
+     */
+    static final class Peticion {
+        String endpoint;
+        long duracionNanos;
+        long bytesAsignados;
+        long hiloPeticion = -1;
+        /**
+         * Memoria de llamadas al repositorio por hilo (ID de hilo -> bytes)
+         */
+        final Map<Long, Long> asignadoRepositorio = new HashMap<>();
+        long llamadasRepositorio;
+        long filas;
+        long bytesJson;
+        final Map<String, Long> fases = new HashMap<>();
+
+        /**
+         * Memoria total de la petición
+         * 
+         * Lo asignado en el hilo de la petición ya está en bytesAsignados;
+         * solo sumamos lo que el repositorio asignó en otros hilos.
+         */
+        long asignadoTotal() {
+            long total = bytesAsignados;
+            for (Map.Entry<Long, Long> entrada : asignadoRepositorio.entrySet()) {
+                if (entrada.getKey() != hiloPeticion) {
+                    total += entrada.getValue();
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Tiempo de la petición que no corresponde a ninguna fase medida
+         * 
+         * Se recorta a 0 por petición: una lectura que siguió en otro hilo
+         * después de que la petición dejara de esperarla no puede restar
+         * tiempo a las demás.
+         */
+        long otrosNanos() {
+            long fasesNanos = fases.values().stream().mapToLong(Long::longValue).sum();
+            return Math.max(0, duracionNanos - fasesNanos);
+        }
+    }
+
+    /**
+     * Resultado de leer una grabación
+     * 
+     * @param porEndpoint Peticiones agrupadas por endpoint, en orden alfabético
+     * @param segundoPlano Tiempo total por fase de los eventos sin petición
+     */
+    record Analisis(Map<String, List<Peticion>> porEndpoint, Map<String, Long> segundoPlano) {}
+
+    private AnalizadorJfr() {}
+
+    /**
+     * Punto de entrada de la herramienta
+     * 
+     * @param args Ruta del fichero .jfr
+     * @throws IOException si no se puede leer la grabación
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: java -cp <classpath> " + AnalizadorJfr.class.getName() + " <grabacion.jfr>");
+            System.exit(1);
+        }
+        imprimir(analizar(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * Lee una grabación y agrupa sus eventos por petición y endpoint
+     * 
+     * @param fichero El fichero .jfr
+     * @return Las peticiones encontradas y el trabajo en segundo plano
+     * @throws IOException si no se puede leer la grabación
+     */
+    static Analisis analizar(Path fichero) throws IOException {
+        Map<Long, Peticion> peticiones = new HashMap<>();
+        Map<String, Long> segundoPlano = new TreeMap<>();
+        // Leemos evento a evento: una grabación de producción puede ocupar cientos de MB
+        try (RecordingFile grabacion = new RecordingFile(fichero)) {
+            while (grabacion.hasMoreEvents()) {
+                RecordedEvent evento = grabacion.readEvent();
+                String nombre = evento.getEventType().getName();
+                if (nombre.equals(PeticionEvent.NOMBRE)) {
+                    Peticion peticion = peticiones.computeIfAbsent(evento.getLong("peticionId"), id -> new Peticion());
+                    peticion.endpoint = evento.getString("endpoint");
+                    peticion.duracionNanos = evento.getDuration().toNanos();
+                    peticion.bytesAsignados = evento.getLong("bytesAsignados");
+                    peticion.hiloPeticion = idHilo(evento);
+                } else if (FASE_POR_EVENTO.containsKey(nombre)) {
+                    long peticionId = evento.getLong("peticionId");
+                    long nanos = evento.getDuration().toNanos();
+                    if (peticionId == 0) {
+                        // Eventos fuera de /api/articulos: refresco de la copia en memoria, actuator, etc.
+                        segundoPlano.merge(FASE_POR_EVENTO.get(nombre), nanos, Long::sum);
+                        continue;
+                    }
+                    Peticion peticion = peticiones.computeIfAbsent(peticionId, id -> new Peticion());
+                    peticion.fases.merge(FASE_POR_EVENTO.get(nombre), nanos, Long::sum);
+                    if (nombre.equals(RepositorioEvent.NOMBRE)) {
+                        peticion.llamadasRepositorio++;
+                        peticion.filas += evento.getLong("filas");
+                        peticion.asignadoRepositorio.merge(idHilo(evento), evento.getLong("bytesAsignados"), Long::sum);
+                    } else if (nombre.equals(SerializacionEvent.NOMBRE)) {
+                        peticion.bytesJson += evento.getLong("bytes");
+                    }
+                }
+            }
+        }
+
+        // Agrupamos por endpoint (las fases cuya petición no se grabó se descartan)
+        Map<String, List<Peticion>> porEndpoint = new TreeMap<>();
+        for (Peticion peticion : peticiones.values()) {
+            if (peticion.endpoint != null) {
+                porEndpoint.computeIfAbsent(peticion.endpoint, e -> new ArrayList<>()).add(peticion);
+            }
+        }
+
+        return new Analisis(porEndpoint, segundoPlano);
+    }
+
+    /**
+     * Imprime el resumen de una grabación
+     * 
+     * @param analisis El resultado de {@link #analizar(Path)}
+     * @param salida Dónde escribir el informe
+     */
+    static void imprimir(Analisis analisis, PrintStream salida) {
+        if (analisis.porEndpoint().isEmpty()) {
+            salida.println("La grabación no contiene eventos " + PeticionEvent.NOMBRE);
+        }
+        analisis.porEndpoint().forEach((endpoint, peticiones) -> imprimirEndpoint(endpoint, peticiones, salida));
+
+        if (!analisis.segundoPlano().isEmpty()) {
+            salida.println("Sin petición asociada (refresco en segundo plano, actuator, ...)");
+            analisis.segundoPlano().forEach((fase, nanos) ->
+                    salida.printf("  %-14s total %s%n", fase, formatear(nanos)));
+        }
+    }
+
+    /**
+     * Imprime el resumen de un endpoint
+     */
+    private static void imprimirEndpoint(String endpoint, List<Peticion> peticiones, PrintStream salida) {
+        int n = peticiones.size();
+        List<Long> totales = new ArrayList<>();
+        long bytesAsignados = 0;
+        long llamadas = 0;
+        long filas = 0;
+        long bytesJson = 0;
+        long resto = 0;
+        for (Peticion peticion : peticiones) {
+            totales.add(peticion.duracionNanos);
+            bytesAsignados += peticion.asignadoTotal();
+            llamadas += peticion.llamadasRepositorio;
+            filas += peticion.filas;
+            bytesJson += peticion.bytesJson;
+            resto += peticion.otrosNanos();
+        }
+        long sumaTotal = totales.stream().mapToLong(Long::longValue).sum();
+
+        salida.println(endpoint);
+        salida.printf("  peticiones     %d%n", n);
+        salida.printf("  latencia       p50 %s  p95 %s  p99 %s  max %s%n",
+                formatear(percentil(totales, 50)), formatear(percentil(totales, 95)),
+                formatear(percentil(totales, 99)), formatear(percentil(totales, 100)));
+
+        for (String fase : FASES) {
+            List<Long> tiempos = new ArrayList<>();
+            for (Peticion peticion : peticiones) {
+                tiempos.add(peticion.fases.getOrDefault(fase, 0L));
+            }
+            long suma = tiempos.stream().mapToLong(Long::longValue).sum();
+            salida.printf("  %-14s media %s  p95 %s  %5.1f%%%n", fase,
+                    formatear(suma / n), formatear(percentil(tiempos, 95)), porcentaje(suma, sumaTotal));
+        }
+        salida.printf("  %-14s media %s  %5.1f%%%n", "otros", formatear(resto / n), porcentaje(resto, sumaTotal));
+
+        salida.printf("  repositorio    %.1f llamadas/petición, %.1f filas/petición%n",
+                (double) llamadas / n, (double) filas / n);
+        salida.printf("  json           %d bytes/petición%n", bytesJson / n);
+        salida.printf("  asignación     total %s, %s/petición%n",
+                formatearBytes(bytesAsignados), formatearBytes(bytesAsignados / n));
+        salida.println();
+    }
+
+    /**
+     * Obtiene el ID del hilo Java que emitió el evento, o -1 si no se conoce
+     */
+    private static long idHilo(RecordedEvent evento) {
+        RecordedThread hilo = evento.getThread();
+        return hilo != null ? hilo.getJavaThreadId() : -1;
+    }
+
+    /**
+     * Calcula un percentil por el método del rango más cercano
+     */
+    static long percentil(List<Long> valores, int p) {
+        if (valores.isEmpty()) {
+            return 0;
+        }
+        List<Long> ordenados = new ArrayList<>(valores);
+        Collections.sort(ordenados);
+        int indice = (int) Math.ceil(p / 100.0 * ordenados.size()) - 1;
+        return ordenados.get(Math.max(0, Math.min(indice, ordenados.size() - 1)));
+    }
+
+    private static double porcentaje(long parte, long total) {
+        return total == 0 ? 0 : 100.0 * parte / total;
+    }
+
+    private static String formatear(long nanos) {
+        Duration duracion = Duration.ofNanos(nanos);
+        if (duracion.toMillis() >= 1) {
+            return String.format("%.2f ms", nanos / 1_000_000.0);
+        }
+        return String.format("%.1f us", nanos / 1_000.0);
+    }
+
+    private static String formatearBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        }
+        if (bytes >= 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return bytes + " B";
+    }
+}
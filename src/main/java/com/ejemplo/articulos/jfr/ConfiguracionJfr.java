@@ -0,0 +1,39 @@
+package com.ejemplo.articulos.jfr;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración web para los eventos de Java Flight Recorder
+ * 
+ * Reemplaza el conversor JSON de Spring por {@link ConvertidorJsonJfr},
+ * conservando el mismo ObjectMapper.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Configuration
+public class ConfiguracionJfr implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(conversor ->
+                conversor instanceof MappingJackson2HttpMessageConverter jackson
+                        && !(conversor instanceof ConvertidorJsonJfr)
+                        ? instrumentar(jackson)
+                        : conversor);
+    }
+
+    /**
+     * Crea un conversor instrumentado equivalente al original
+     */
+    private static ConvertidorJsonJfr instrumentar(MappingJackson2HttpMessageConverter original) {
+        ConvertidorJsonJfr conversor = new ConvertidorJsonJfr(original.getObjectMapper());
+        conversor.setSupportedMediaTypes(original.getSupportedMediaTypes());
+        return conversor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ejemplo.articulos.jfr;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Identificador de la petición HTTP que se está atendiendo en el hilo actual
+ * 
+ * JFR no tiene eventos "padre" e "hijo", así que cada evento de fase
+ * (validación, repositorio, serialización) guarda el ID de la petición que
+ * lo originó. Con eso el analizador puede reconstruir el desglose aunque
+ * la consulta a la base de datos se ejecute en otro hilo.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public final class ContextoPeticion {
+
+    private static final AtomicLong SECUENCIA = new AtomicLong();
+
+    private static final ThreadLocal<Long> ACTUAL = new ThreadLocal<>();
+
+    private ContextoPeticion() {}
+
+    /**
+     * Genera un ID nuevo y lo asocia al hilo actual
+     * 
+     * @return El ID de la nueva petición
+     */
+    static long iniciar() {
+        long id = SECUENCIA.incrementAndGet();
+        ACTUAL.set(id);
+        return id;
+    }
+
+    /**
+     * Desasocia la petición del hilo actual
+     */
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Obtiene el ID de la petición del hilo actual
+     * 
+     * @return El ID, o 0 si el hilo no está atendiendo ninguna petición
+     */
+    public static long actual() {
+        Long id = ACTUAL.get();
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * Ejecuta una tarea en nombre de otra petición
+     * 
+     * Se usa para que el trabajo que otro hilo hace por nosotros (por ejemplo,
+     * una lectura con tiempo máximo) quede asociado a la petición original.
+     * 
+     * @param peticionId El ID de la petición original
+     * @param tarea La tarea a ejecutar
+     * @return El resultado de la tarea
+     */
+    public static <T> T ejecutarCon(long peticionId, Supplier<T> tarea) {
+        Long anterior = ACTUAL.get();
+        ACTUAL.set(peticionId);
+        try {
+            return tarea.get();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+        }
+    }
+}
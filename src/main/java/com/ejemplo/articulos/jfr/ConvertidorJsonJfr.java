@@ -0,0 +1,92 @@
+package com.ejemplo.articulos.jfr;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Conversor JSON que emite un {@link SerializacionEvent} por cada respuesta
+ * 
+ * Es el mismo conversor de Jackson que usa Spring, pero cuenta los bytes
+ * que escribe y cuánto tarda en hacerlo.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class ConvertidorJsonJfr extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Crea el conversor reutilizando el ObjectMapper configurado por Spring Boot
+     * 
+     * @param objectMapper El ObjectMapper de la aplicación
+     */
+    public ConvertidorJsonJfr(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        SerializacionEvent evento = new SerializacionEvent();
+        if (!evento.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        FlujoContador contador = new FlujoContador(outputMessage.getBody());
+        HttpOutputMessage mensajeContado = new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return contador;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        };
+        evento.begin();
+        try {
+            super.writeInternal(object, type, mensajeContado);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.peticionId = ContextoPeticion.actual();
+                evento.tipo = object.getClass().getName();
+                evento.elementos = object instanceof Collection<?> coleccion ? coleccion.size() : 1;
+                evento.bytes = contador.bytes;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Flujo de salida que cuenta los bytes que pasan por él
+     */
+    private static class FlujoContador extends FilterOutputStream {
+
+        private long bytes;
+
+        FlujoContador(OutputStream destino) {
+            super(destino);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+    }
+}
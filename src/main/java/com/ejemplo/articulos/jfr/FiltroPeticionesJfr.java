@@ -0,0 +1,92 @@
+package com.ejemplo.articulos.jfr;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que emite un {@link PeticionEvent} por cada petición a /api/articulos
+ * 
+ * También asocia un ID de petición al hilo (ver {@link ContextoPeticion})
+ * para que los eventos de cada fase se puedan agrupar después.
+ * 
+ * Si JFR no está grabando, el coste es prácticamente nulo: una lectura
+ * del contador de memoria del hilo y la comprobación de que el evento está
+ * deshabilitado.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+public class FiltroPeticionesJfr extends OncePerRequestFilter {
+
+    private static final String RUTA_BASE = "/api/articulos";
+
+    /**
+     * Solo instrumentamos las rutas del controlador de artículos
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith(RUTA_BASE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PeticionEvent evento = new PeticionEvent();
+        long peticionId = ContextoPeticion.iniciar();
+        // Siempre tomamos la referencia: si la grabación empieza a mitad de la
+        // petición, sin ella contaríamos la memoria de toda la vida del hilo
+        long asignadosInicio = MedidorAsignacion.bytesAsignados();
+        evento.begin();
+        boolean completada = false;
+        try {
+            chain.doFilter(request, response);
+            completada = true;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.peticionId = peticionId;
+                evento.endpoint = request.getMethod() + " " + patronRuta(request);
+                evento.articuloId = idDeRuta(request);
+                // Con una excepción sin manejar la respuesta aún dice 200: el 500
+                // lo pone después el contenedor, fuera de este filtro
+                evento.estado = completada ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+                evento.bytesAsignados = Math.max(0, MedidorAsignacion.bytesAsignados() - asignadosInicio);
+                evento.commit();
+            }
+            ContextoPeticion.terminar();
+        }
+    }
+
+    /**
+     * Obtiene el patrón de la ruta (con {id}) para agrupar por endpoint
+     */
+    private static String patronRuta(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : request.getServletPath();
+    }
+
+    /**
+     * Obtiene el {id} de la ruta, o 0 si no lo hay o no es un número
+     */
+    private static long idDeRuta(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> mapa && mapa.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
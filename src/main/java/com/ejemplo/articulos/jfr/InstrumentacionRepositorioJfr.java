@@ -0,0 +1,124 @@
+package com.ejemplo.articulos.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.ejemplo.articulos.fragmentacion.AlmacenArticulosFragmentado;
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+import com.ejemplo.articulos.repository.ArticuloRepository;
+
+/**
+ * Envuelve ArticuloRepository para emitir un {@link RepositorioEvent} por llamada
+ * 
+ * Spring Data genera la implementación del repositorio, así que no podemos
+ * poner el código del evento dentro. En su lugar, cuando Spring crea el bean
+ * le ponemos delante un proxy que mide cada método, cuenta las filas del
+ * resultado y apunta el ID del artículo involucrado.
+ * 
+ * Con la fragmentación activada no hay repositorio JPA en el camino, así que
+ * instrumentamos el almacén fragmentado (cada llamada al almacén equivale
+ * a la llamada al repositorio que reemplaza).
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+public class InstrumentacionRepositorioJfr implements BeanPostProcessor, MethodInterceptor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        ProxyFactory fabrica = new ProxyFactory();
+        if (bean instanceof ArticuloRepository) {
+            fabrica.addInterface(ArticuloRepository.class);
+        } else if (bean instanceof AlmacenArticulosFragmentado) {
+            fabrica.addInterface(AlmacenArticulos.class);
+            // Spring cierra el almacén al apagar la aplicación
+            fabrica.addInterface(AutoCloseable.class);
+        } else {
+            return bean;
+        }
+        fabrica.setTarget(bean);
+        fabrica.addAdvice(this);
+        return fabrica.getProxy(getClass().getClassLoader());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacion) throws Throwable {
+        RepositorioEvent evento = new RepositorioEvent();
+        Class<?> declarante = invocacion.getMethod().getDeclaringClass();
+        // toString, equals, close... no son llamadas a la base de datos
+        if (!evento.isEnabled() || declarante == Object.class || declarante == AutoCloseable.class) {
+            return invocacion.proceed();
+        }
+        Object resultado = null;
+        // Las lecturas corren en hilos lectura-bd-*, así que medimos aquí y no en el filtro
+        long asignadosInicio = MedidorAsignacion.bytesAsignados();
+        evento.begin();
+        try {
+            resultado = invocacion.proceed();
+            evento.filas = contarFilas(invocacion, resultado);
+            return resultado;
+        } catch (Throwable e) {
+            evento.error = e.getClass().getName();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.peticionId = ContextoPeticion.actual();
+                evento.operacion = invocacion.getMethod().getName();
+                evento.articuloId = idArticulo(invocacion.getArguments(), resultado);
+                evento.bytesAsignados = Math.max(0, MedidorAsignacion.bytesAsignados() - asignadosInicio);
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Cuenta las filas devueltas (o afectadas, en guardados y borrados)
+     */
+    private static long contarFilas(MethodInvocation invocacion, Object resultado) {
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Boolean existe) {
+            return existe ? 1 : 0;
+        }
+        if (resultado instanceof Articulo) {
+            return 1;
+        }
+        // deleteById y compañía no devuelven nada; si no fallaron, afectaron una fila
+        return invocacion.getMethod().getName().startsWith("delete") ? 1 : 0;
+    }
+
+    /**
+     * Busca el ID del artículo en el resultado o en los argumentos
+     */
+    private static long idArticulo(Object[] argumentos, Object resultado) {
+        if (resultado instanceof Articulo articulo && articulo.getId() != null) {
+            return articulo.getId();
+        }
+        if (resultado instanceof Optional<?> opcional && opcional.orElse(null) instanceof Articulo articulo
+                && articulo.getId() != null) {
+            return articulo.getId();
+        }
+        for (Object argumento : argumentos) {
+            if (argumento instanceof Long id) {
+                return id;
+            }
+            if (argumento instanceof Articulo articulo && articulo.getId() != null) {
+                return articulo.getId();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ejemplo.articulos.jfr;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mide cuánta memoria ha asignado el hilo actual
+ * 
+ * Se usa para los campos de bytes asignados de los eventos. Si la JVM no
+ * permite medirlo, siempre devuelve 0.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+final class MedidorAsignacion {
+
+    /**
+     * Bean de la JVM que sabe cuánta memoria asignó cada hilo (si está disponible)
+     */
+    private static final com.sun.management.ThreadMXBean HILOS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() ? bean : null;
+
+    private MedidorAsignacion() {}
+
+    /**
+     * Memoria asignada hasta ahora por el hilo actual
+     * 
+     * @return Bytes asignados desde que arrancó el hilo
+     */
+    static long bytesAsignados() {
+        return HILOS != null ? HILOS.getCurrentThreadAllocatedBytes() : 0;
+    }
+}
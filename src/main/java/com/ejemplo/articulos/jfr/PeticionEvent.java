@@ -0,0 +1,47 @@
+package com.ejemplo.articulos.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR que cubre una petición completa a /api/articulos
+ * 
+ * Las fases (validación, repositorio, serialización) se registran como
+ * eventos aparte que comparten el mismo {@code peticionId}.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Name(PeticionEvent.NOMBRE)
+@Label("Petición de artículos")
+@Category({"Articulos", "HTTP"})
+@Description("Petición atendida por ArticuloController")
+@StackTrace(false)
+public class PeticionEvent extends Event {
+
+    public static final String NOMBRE = "com.ejemplo.articulos.Peticion";
+
+    @Label("ID de petición")
+    public long peticionId;
+
+    @Label("Endpoint")
+    @Description("Método y patrón de la ruta, por ejemplo GET /api/articulos/{id}")
+    public String endpoint;
+
+    @Label("ID de artículo")
+    @Description("ID de la ruta, o 0 si la ruta no lleva ID")
+    public long articuloId;
+
+    @Label("Estado HTTP")
+    public int estado;
+
+    @Label("Bytes asignados")
+    @Description("Memoria asignada por el hilo de la petición; no incluye las lecturas hechas en otros hilos")
+    @DataAmount
+    public long bytesAsignados;
+}
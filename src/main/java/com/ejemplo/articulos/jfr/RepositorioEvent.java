@@ -0,0 +1,49 @@
+package com.ejemplo.articulos.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR para cada llamada a ArticuloRepository
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Name(RepositorioEvent.NOMBRE)
+@Label("Llamada al repositorio")
+@Category({"Articulos", "Fases"})
+@Description("Método de ArticuloRepository invocado")
+@StackTrace(false)
+public class RepositorioEvent extends Event {
+
+    public static final String NOMBRE = "com.ejemplo.articulos.Repositorio";
+
+    @Label("ID de petición")
+    @Description("Petición que originó la llamada, o 0 si fue una tarea en segundo plano")
+    public long peticionId;
+
+    @Label("Operación")
+    public String operacion;
+
+    @Label("ID de artículo")
+    @Description("ID del artículo consultado o guardado, o 0 si la operación no lleva ID")
+    public long articuloId;
+
+    @Label("Filas")
+    @Description("Filas devueltas o afectadas")
+    public long filas;
+
+    @Label("Bytes asignados")
+    @Description("Memoria asignada por el hilo que ejecutó la llamada")
+    @DataAmount
+    public long bytesAsignados;
+
+    @Label("Error")
+    @Description("Clase de la excepción si la llamada falló")
+    public String error;
+}
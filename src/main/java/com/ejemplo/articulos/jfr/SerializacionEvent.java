@@ -0,0 +1,40 @@
+package com.ejemplo.articulos.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR para la escritura de una respuesta en JSON
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Name(SerializacionEvent.NOMBRE)
+@Label("Serialización JSON")
+@Category({"Articulos", "Fases"})
+@Description("Conversión de la respuesta a JSON")
+@StackTrace(false)
+public class SerializacionEvent extends Event {
+
+    public static final String NOMBRE = "com.ejemplo.articulos.Serializacion";
+
+    @Label("ID de petición")
+    public long peticionId;
+
+    @Label("Tipo")
+    @Description("Clase del objeto serializado")
+    public String tipo;
+
+    @Label("Elementos")
+    @Description("Número de elementos si es una colección, 1 en otro caso")
+    public long elementos;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,38 @@
+package com.ejemplo.articulos.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR para la validación de un artículo antes de guardarlo
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Name(ValidacionEvent.NOMBRE)
+@Label("Validación de artículo")
+@Category({"Articulos", "Fases"})
+@Description("Ejecución de validarArticulo")
+@StackTrace(false)
+public class ValidacionEvent extends Event {
+
+    public static final String NOMBRE = "com.ejemplo.articulos.Validacion";
+
+    @Label("ID de petición")
+    public long peticionId;
+
+    @Label("ID de artículo")
+    @Description("ID del artículo, o 0 si todavía no tiene")
+    public long articuloId;
+
+    @Label("Válido")
+    public boolean valido;
+
+    @Label("Motivo")
+    @Description("Mensaje de error si la validación falló")
+    public String motivo;
+}
@@ -30,6 +30,8 @@ public class Articulo {
      * 
      * Este es el ID que usa la base de datos para identificar cada artículo.
      * Se genera automáticamente cuando creamos un nuevo artículo.
+     * Con la fragmentación activada no se usa el auto-incremento: el ID
+     * lo asigna GeneradorIds para que sea único entre todos los fragmentos.
      */
     @Id // Marca este campo como la clave primaria
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremento
@@ -0,0 +1,59 @@
+package com.ejemplo.articulos.popularidad;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de Actuator con los artículos más populares
+ * 
+ * GET /actuator/articulospopulares
+ * 
+ * Devuelve el top-K actual con la frecuencia estimada de cada artículo,
+ * útil para ver qué se está leyendo más en este momento.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+@Endpoint(id = "articulospopulares")
+public class ArticulosPopularesEndpoint {
+
+    private final RastreadorPopularidad rastreadorPopularidad;
+
+    /**
+     * Constructor que recibe el rastreador por inyección de dependencias
+     * 
+     * @param rastreadorPopularidad El rastreador de popularidad
+     */
+    public ArticulosPopularesEndpoint(RastreadorPopularidad rastreadorPopularidad) {
+        this.rastreadorPopularidad = rastreadorPopularidad;
+    }
+
+    /**
+     * Devuelve el ranking de artículos populares
+     * 
+     * @return Mapa con el tamaño del top-K, los listados y el ranking
+     */
+    @ReadOperation
+    public Map<String, Object> articulosPopulares() {
+        List<Map<String, Object>> ranking = rastreadorPopularidad.ranking().stream()
+                .map(entrada -> {
+                    Map<String, Object> fila = new LinkedHashMap<>();
+                    fila.put("id", entrada.getKey());
+                    fila.put("frecuencia", entrada.getValue());
+                    return fila;
+                })
+                .toList();
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("topK", rastreadorPopularidad.getTamanoTop());
+        respuesta.put("accesosListado", rastreadorPopularidad.getAccesosListado());
+        respuesta.put("ranking", ranking);
+        return respuesta;
+    }
+}
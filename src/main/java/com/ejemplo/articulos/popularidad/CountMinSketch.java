@@ -0,0 +1,109 @@
+package com.ejemplo.articulos.popularidad;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estructura probabilística para estimar frecuencias en memoria constante
+ * 
+ * Un count-min sketch es una matriz de contadores con varias filas. Cada fila
+ * usa una función hash distinta para elegir una columna. Al registrar un acceso
+ * incrementamos un contador por fila, y al estimar nos quedamos con el mínimo
+ * de todas las filas (las colisiones solo pueden inflar los contadores, nunca
+ * reducirlos, así que el mínimo es la mejor estimación).
+ * 
+ * Los contadores viven en un AtomicLongArray, de modo que varios hilos pueden
+ * registrar accesos a la vez sin usar locks.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class CountMinSketch {
+
+    /**
+     * Semillas para las funciones hash de cada fila
+     */
+    private static final long[] SEMILLAS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int filas;
+    private final int mascaraColumnas;
+    private final AtomicLongArray contadores;
+
+    /**
+     * Crea un sketch con las dimensiones indicadas
+     * 
+     * @param filas Número de funciones hash (entre 1 y 8)
+     * @param columnas Ancho de cada fila; se redondea a la siguiente potencia de dos
+     */
+    public CountMinSketch(int filas, int columnas) {
+        if (filas < 1 || filas > SEMILLAS.length) {
+            throw new IllegalArgumentException("El número de filas debe estar entre 1 y " + SEMILLAS.length);
+        }
+        if (columnas < 1) {
+            throw new IllegalArgumentException("El número de columnas debe ser mayor a 0");
+        }
+        int ancho = Integer.highestOneBit(columnas);
+        if (ancho < columnas) {
+            ancho <<= 1;
+        }
+        this.filas = filas;
+        this.mascaraColumnas = ancho - 1;
+        this.contadores = new AtomicLongArray(filas * ancho);
+    }
+
+    /**
+     * Registra una ocurrencia de la clave y devuelve su frecuencia estimada
+     * 
+     * @param clave La clave a contar (en nuestro caso, el ID del artículo)
+     * @return La frecuencia estimada después del incremento
+     */
+    public long incrementar(long clave) {
+        long minimo = Long.MAX_VALUE;
+        for (int fila = 0; fila < filas; fila++) {
+            long valor = contadores.incrementAndGet(indice(fila, clave));
+            minimo = Math.min(minimo, valor);
+        }
+        return minimo;
+    }
+
+    /**
+     * Estima cuántas veces se ha registrado la clave
+     * 
+     * @param clave La clave a consultar
+     * @return La frecuencia estimada (nunca menor que la real, salvo por el decaimiento)
+     */
+    public long estimar(long clave) {
+        long minimo = Long.MAX_VALUE;
+        for (int fila = 0; fila < filas; fila++) {
+            minimo = Math.min(minimo, contadores.get(indice(fila, clave)));
+        }
+        return minimo;
+    }
+
+    /**
+     * Divide todos los contadores a la mitad
+     * 
+     * Así los accesos antiguos pesan cada vez menos y el sketch refleja
+     * la popularidad reciente. Cada celda se actualiza de forma atómica,
+     * aunque el conjunto no es una instantánea consistente (no hace falta).
+     */
+    public void decaer() {
+        for (int i = 0; i < contadores.length(); i++) {
+            contadores.getAndUpdate(i, valor -> valor >>> 1);
+        }
+    }
+
+    /**
+     * Calcula la posición del contador de una fila para una clave
+     */
+    private int indice(int fila, long clave) {
+        // Mezcla tipo splitmix64 para repartir bien IDs consecutivos
+        long h = clave * SEMILLAS[fila];
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return fila * (mascaraColumnas + 1) + (int) (h & mascaraColumnas);
+    }
+}
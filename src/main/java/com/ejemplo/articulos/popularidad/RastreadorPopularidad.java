@@ -0,0 +1,215 @@
+package com.ejemplo.articulos.popularidad;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rastreador de artículos populares ("hot articles")
+ * 
+ * Lleva la cuenta aproximada de cuántas veces se lee cada artículo usando
+ * un {@link CountMinSketch} (memoria constante sin importar el tamaño del
+ * catálogo) y mantiene una pequeña lista con los K artículos más leídos.
+ * 
+ * Todo funciona sin locks: el sketch usa contadores atómicos y la lista de
+ * candidatos es un ConcurrentHashMap. A cambio, el top-K es aproximado; bajo
+ * mucha concurrencia puede tener momentáneamente algún candidato de más,
+ * que se recorta en el siguiente acceso.
+ * 
+ * Periódicamente se aplica un decaimiento (todos los contadores a la mitad)
+ * para que la popularidad refleje lo que está de moda ahora y no lo que fue
+ * popular hace una semana.
+ * 
+ * Otros componentes (por ejemplo, un precalentamiento de caché) pueden usar
+ * {@link #articulosMasPopulares()} y {@link #estimarFrecuencia(Long)} para
+ * decidir qué artículos vale la pena tener a mano.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+public class RastreadorPopularidad {
+
+    /**
+     * Sketch con la frecuencia estimada de cada artículo
+     */
+    private final CountMinSketch sketch;
+
+    /**
+     * Candidatos al top-K: ID del artículo -> frecuencia estimada
+     */
+    private final Map<Long, Long> candidatos = new ConcurrentHashMap<>();
+
+    /**
+     * Cuántos artículos conservamos en el top-K
+     */
+    private final int tamanoTop;
+
+    /**
+     * Frecuencia mínima para entrar al top-K cuando ya está lleno
+     * 
+     * Es una caché del mínimo de los candidatos para no recorrer el mapa
+     * en cada acceso; se recalcula cuando recortamos la lista.
+     */
+    private volatile long umbralEntrada = 0;
+
+    /**
+     * Veces que se ha pedido el listado completo del catálogo
+     */
+    private final AtomicLong accesosListado = new AtomicLong();
+
+    /**
+     * Constructor que recibe la configuración desde application.properties
+     * 
+     * @param tamanoTop Número de artículos populares a conservar
+     * @param filas Filas (funciones hash) del sketch
+     * @param columnas Columnas del sketch
+     */
+    public RastreadorPopularidad(
+            @Value("${articulos.popularidad.top-k:20}") int tamanoTop,
+            @Value("${articulos.popularidad.sketch.filas:4}") int filas,
+            @Value("${articulos.popularidad.sketch.columnas:4096}") int columnas) {
+        if (tamanoTop < 1) {
+            throw new IllegalArgumentException("El tamaño del top-K debe ser mayor a 0");
+        }
+        this.tamanoTop = tamanoTop;
+        this.sketch = new CountMinSketch(filas, columnas);
+    }
+
+    /**
+     * Registra una lectura de un artículo concreto
+     * 
+     * @param id El ID del artículo leído
+     */
+    public void registrarAcceso(Long id) {
+        if (id == null) {
+            return;
+        }
+        long estimacion = sketch.incrementar(id);
+
+        // Si ya es candidato o todavía hay hueco, simplemente actualizamos
+        if (candidatos.containsKey(id) || candidatos.size() < tamanoTop) {
+            candidatos.put(id, estimacion);
+            if (candidatos.size() > tamanoTop) {
+                recortar();
+            }
+            return;
+        }
+
+        // Lista llena: solo entra si supera al menos popular
+        if (estimacion > umbralEntrada) {
+            candidatos.put(id, estimacion);
+            recortar();
+        }
+    }
+
+    /**
+     * Registra que alguien pidió el listado completo del catálogo
+     * 
+     * No contamos cada artículo del listado porque todos saldrían igual
+     * de "populares" y el ranking dejaría de tener sentido.
+     */
+    public void registrarListado() {
+        accesosListado.incrementAndGet();
+    }
+
+    /**
+     * Estima cuántas lecturas recientes tiene un artículo
+     * 
+     * @param id El ID del artículo
+     * @return La frecuencia estimada (con decaimiento aplicado)
+     */
+    public long estimarFrecuencia(Long id) {
+        return id == null ? 0 : sketch.estimar(id);
+    }
+
+    /**
+     * Devuelve los IDs de los artículos más populares, del más al menos leído
+     * 
+     * @return Lista de como mucho K IDs
+     */
+    public List<Long> articulosMasPopulares() {
+        return ranking().stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Devuelve el ranking actual con la frecuencia estimada de cada artículo
+     * 
+     * @return Pares (ID, frecuencia) ordenados de mayor a menor frecuencia
+     */
+    public List<Map.Entry<Long, Long>> ranking() {
+        List<Map.Entry<Long, Long>> entradas = new ArrayList<>();
+        candidatos.forEach((id, frecuencia) -> entradas.add(Map.entry(id, frecuencia)));
+        entradas.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()));
+        return entradas.size() > tamanoTop ? entradas.subList(0, tamanoTop) : entradas;
+    }
+
+    /**
+     * Obtiene cuántas veces se ha pedido el listado completo
+     * 
+     * @return Número de listados desde el último decaimiento
+     */
+    public long getAccesosListado() {
+        return accesosListado.get();
+    }
+
+    /**
+     * Obtiene el tamaño configurado del top-K
+     * 
+     * @return El número máximo de artículos populares que se conservan
+     */
+    public int getTamanoTop() {
+        return tamanoTop;
+    }
+
+    /**
+     * Aplica el decaimiento temporal a todas las frecuencias
+     * 
+     * Se ejecuta automáticamente cada cierto tiempo (por defecto, cada minuto).
+     * Los candidatos cuya frecuencia llega a cero salen del top-K.
+     */
+    @Scheduled(fixedDelayString = "${articulos.popularidad.decaimiento-ms:60000}")
+    public void decaer() {
+        sketch.decaer();
+        candidatos.replaceAll((id, frecuencia) -> frecuencia >>> 1);
+        candidatos.values().removeIf(frecuencia -> frecuencia == 0);
+        accesosListado.getAndUpdate(valor -> valor >>> 1);
+        umbralEntrada = minimoCandidatos();
+    }
+
+    /**
+     * Elimina los candidatos menos populares hasta que queden K
+     */
+    private void recortar() {
+        while (candidatos.size() > tamanoTop) {
+            Map.Entry<Long, Long> menor = null;
+            for (Map.Entry<Long, Long> entrada : candidatos.entrySet()) {
+                if (menor == null || entrada.getValue() < menor.getValue()) {
+                    menor = entrada;
+                }
+            }
+            if (menor == null) {
+                break;
+            }
+            candidatos.remove(menor.getKey(), menor.getValue());
+        }
+        umbralEntrada = minimoCandidatos();
+    }
+
+    /**
+     * Calcula la frecuencia del candidato menos popular
+     */
+    private long minimoCandidatos() {
+        if (candidatos.size() < tamanoTop) {
+            return 0;
+        }
+        return candidatos.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ejemplo.articulos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.ejemplo.articulos.model.Articulo;
+
+/**
+ * Operaciones de almacenamiento que necesita el servicio de artículos
+ * 
+ * Es un subconjunto de {@link ArticuloRepository} con los mismos nombres.
+ * Existe para que el servicio no dependa de cómo se guardan los artículos:
+ * - {@link AlmacenArticulosJpa}: una sola base de datos, vía Spring Data JPA
+ *   (la opción por defecto)
+ * - {@code AlmacenArticulosFragmentado}: los artículos repartidos entre
+ *   varias bases de datos (sharding)
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public interface AlmacenArticulos {
+
+    /**
+     * Obtiene todos los artículos ordenados por ID
+     * 
+     * @return Lista de todos los artículos
+     */
+    List<Articulo> findAll();
+
+    /**
+     * Busca un artículo por ID
+     * 
+     * @param id El identificador del artículo
+     * @return Optional con el artículo si existe
+     */
+    Optional<Articulo> findById(Long id);
+
+    /**
+     * Busca artículos con precio entre dos valores, ordenados por precio
+     * 
+     * @param min Precio mínimo (incluido)
+     * @param max Precio máximo (incluido)
+     * @return Lista de artículos dentro del rango de precios
+     */
+    List<Articulo> findByPrecioBetween(Double min, Double max);
+
+    /**
+     * Verifica si existe un artículo con el nombre especificado
+     * 
+     * @param nombre El nombre a verificar
+     * @return true si ya existe un artículo con ese nombre
+     */
+    boolean existsByNombre(String nombre);
+
+    /**
+     * Verifica si otro artículo (distinto del ID indicado) usa ese nombre
+     * 
+     * @param nombre El nombre a verificar
+     * @param id El ID a excluir de la búsqueda
+     * @return true si existe otro artículo con ese nombre
+     */
+    boolean existsByNombreAndIdNot(String nombre, Long id);
+
+    /**
+     * Inserta o actualiza un artículo
+     * 
+     * @param articulo El artículo a guardar (sin ID si es nuevo)
+     * @return El artículo guardado, con su ID asignado
+     */
+    Articulo save(Articulo articulo);
+
+    /**
+     * Elimina un artículo por ID
+     * 
+     * @param id El ID del artículo a eliminar
+     */
+    void deleteById(Long id);
+}
@@ -0,0 +1,70 @@
+package com.ejemplo.articulos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.ejemplo.articulos.model.Articulo;
+
+/**
+ * Almacén de artículos sobre una única base de datos
+ * 
+ * Simplemente delega en {@link ArticuloRepository}. Es el almacén que se usa
+ * mientras no se active la fragmentación (articulos.fragmentacion.habilitada).
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "articulos.fragmentacion.habilitada", havingValue = "false", matchIfMissing = true)
+public class AlmacenArticulosJpa implements AlmacenArticulos {
+
+    private final ArticuloRepository articuloRepository;
+
+    /**
+     * Constructor que recibe el repositorio por inyección de dependencias
+     * 
+     * @param articuloRepository El repositorio JPA de artículos
+     */
+    public AlmacenArticulosJpa(ArticuloRepository articuloRepository) {
+        this.articuloRepository = articuloRepository;
+    }
+
+    @Override
+    public List<Articulo> findAll() {
+        return articuloRepository.findAll(Sort.by("id"));
+    }
+
+    @Override
+    public Optional<Articulo> findById(Long id) {
+        return articuloRepository.findById(id);
+    }
+
+    @Override
+    public List<Articulo> findByPrecioBetween(Double min, Double max) {
+        return articuloRepository.findByPrecioBetweenOrderByPrecioAscIdAsc(min, max);
+    }
+
+    @Override
+    public boolean existsByNombre(String nombre) {
+        return articuloRepository.existsByNombre(nombre);
+    }
+
+    @Override
+    public boolean existsByNombreAndIdNot(String nombre, Long id) {
+        return articuloRepository.existsByNombreAndIdNot(nombre, id);
+    }
+
+    @Override
+    public Articulo save(Articulo articulo) {
+        return articuloRepository.save(articulo);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        articuloRepository.deleteById(id);
+    }
+}
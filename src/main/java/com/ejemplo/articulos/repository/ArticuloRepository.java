@@ -87,6 +87,18 @@ public interface ArticuloRepository extends JpaRepository<Articulo, Long> {
      */
     List<Articulo> findByPrecioBetween(Double min, Double max);
 
+    /**
+     * Busca artículos con precio entre dos valores, ordenados por precio y luego por ID
+     * 
+     * Es el orden que usa el almacén fragmentado al mezclar resultados,
+     * así ambos almacenes devuelven exactamente lo mismo.
+     * 
+     * @param min Precio mínimo (incluido)
+     * @param max Precio máximo (incluido)
+     * @return Lista de artículos dentro del rango, de menor a mayor precio
+     */
+    List<Articulo> findByPrecioBetweenOrderByPrecioAscIdAsc(Double min, Double max);
+
     /**
      * Busca por nombre ignorando mayúsculas y minúsculas
      * 
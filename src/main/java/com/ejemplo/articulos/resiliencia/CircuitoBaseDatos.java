@@ -0,0 +1,330 @@
+package com.ejemplo.articulos.resiliencia;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.ejemplo.articulos.jfr.ContextoPeticion;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Circuit breaker ("cortacircuitos") para las llamadas a la base de datos
+ * 
+ * Funciona como el diferencial de la luz de una casa:
+ * - CERRADO: todo normal, las llamadas pasan a la base de datos
+ * - ABIERTO: hubo demasiados fallos seguidos; no molestamos a la base de datos
+ *   y fallamos al instante durante un tiempo
+ * - SEMI_ABIERTO: pasado ese tiempo dejamos pasar una única llamada de prueba;
+ *   si va bien cerramos el circuito, si falla lo volvemos a abrir
+ * 
+ * Cuentan como fallo solo los problemas de infraestructura (conexión caída,
+ * errores transitorios, tiempos agotados) y las llamadas que terminan pero
+ * tardan más que el umbral de lentitud. Los errores de negocio, como un
+ * nombre duplicado, demuestran que la base de datos responde: pasan al
+ * llamador sin abrir el circuito.
+ * 
+ * Tampoco cuenta que se nos acaben los hilos de lectura: un pico de tráfico
+ * no es una caída de la base de datos. Las lecturas esperan turno y, si no
+ * lo consiguen a tiempo, fallan con {@link LecturasSaturadasException} sin
+ * tocar el estado del circuito.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+public class CircuitoBaseDatos {
+
+    /**
+     * Estados posibles del circuito
+     */
+    public enum Estado { CERRADO, ABIERTO, SEMI_ABIERTO }
+
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.CERRADO);
+    private final AtomicInteger fallosConsecutivos = new AtomicInteger();
+    private volatile long abiertoDesdeNanos;
+
+    private final int umbralFallos;
+    private final long latenciaLentaNanos;
+    private final long timeoutLecturaMillis;
+    private final long tiempoAbiertoNanos;
+
+    /**
+     * Hilos que ejecutan las lecturas para poder cortarlas por tiempo
+     */
+    private final ThreadPoolExecutor ejecutorLecturas;
+
+    /**
+     * Turnos de lectura, uno por hilo
+     * 
+     * Cada lectura ocupa un turno desde que se envía hasta que termina en
+     * la base de datos (aunque el llamador haya dejado de esperarla), así que
+     * nunca hay más lecturas en marcha que hilos y ninguna se rechaza.
+     */
+    private final Semaphore turnosLectura;
+
+    /**
+     * Constructor que recibe la configuración desde application.properties
+     * 
+     * @param umbralFallos Fallos consecutivos necesarios para abrir el circuito
+     * @param latenciaLentaMs Duración a partir de la cual una llamada exitosa cuenta como fallo
+     * @param timeoutLecturaMs Tiempo máximo que esperamos una lectura
+     * @param tiempoAbiertoMs Tiempo que el circuito permanece abierto antes de probar de nuevo
+     * @param hilosLectura Número de hilos para ejecutar lecturas
+     */
+    public CircuitoBaseDatos(
+            @Value("${articulos.resiliencia.umbral-fallos:5}") int umbralFallos,
+            @Value("${articulos.resiliencia.latencia-lenta-ms:1000}") long latenciaLentaMs,
+            @Value("${articulos.resiliencia.timeout-lectura-ms:2000}") long timeoutLecturaMs,
+            @Value("${articulos.resiliencia.tiempo-abierto-ms:30000}") long tiempoAbiertoMs,
+            @Value("${articulos.resiliencia.hilos-lectura:8}") int hilosLectura) {
+        this.umbralFallos = umbralFallos;
+        this.latenciaLentaNanos = TimeUnit.MILLISECONDS.toNanos(latenciaLentaMs);
+        this.timeoutLecturaMillis = timeoutLecturaMs;
+        this.tiempoAbiertoNanos = TimeUnit.MILLISECONDS.toNanos(tiempoAbiertoMs);
+
+        AtomicInteger contadorHilos = new AtomicInteger();
+        this.ejecutorLecturas = new ThreadPoolExecutor(
+                hilosLectura, hilosLectura, 60, TimeUnit.SECONDS,
+                // El turno se libera un instante antes de que el hilo quede libre,
+                // así que puede haber como mucho una tarea esperando por hilo
+                new ArrayBlockingQueue<>(hilosLectura),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "lectura-bd-" + contadorHilos.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        this.turnosLectura = new Semaphore(hilosLectura, true);
+    }
+
+    /**
+     * Ejecuta una lectura con tiempo máximo de espera
+     * 
+     * Primero espera un turno de lectura (como mucho timeout-lectura-ms).
+     * Después, si la base de datos no responde a tiempo dejamos de esperar
+     * (la consulta puede seguir en segundo plano, pero el usuario ya no queda
+     * colgado). La lectura conserva el ID de la petición para los eventos de JFR.
+     * 
+     * @param lectura La consulta al repositorio
+     * @return El resultado de la consulta
+     * @throws LecturasSaturadasException si no hay turno de lectura a tiempo
+     * @throws ServicioNoDisponibleException si el circuito está abierto o se agota el tiempo
+     */
+    public <T> T ejecutarLectura(Supplier<T> lectura) {
+        esperarTurno();
+        AtomicBoolean enviada = new AtomicBoolean();
+        try {
+            return ejecutar(() -> {
+                long peticionId = ContextoPeticion.actual();
+                CompletableFuture<T> futuro = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return ContextoPeticion.ejecutarCon(peticionId, lectura);
+                    } finally {
+                        turnosLectura.release();
+                    }
+                }, ejecutorLecturas);
+                enviada.set(true);
+                return esperar(futuro);
+            });
+        } finally {
+            // Si la lectura no llegó a enviarse (circuito abierto) devolvemos el turno aquí
+            if (!enviada.get()) {
+                turnosLectura.release();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una llamada a la base de datos protegida por el circuito
+     * 
+     * Se usa directamente para las escrituras: no las cortamos por tiempo
+     * (no sabríamos si llegaron a aplicarse), pero si el circuito está
+     * abierto fallan al instante.
+     * 
+     * Los fallos de infraestructura (conexión caída, tiempo agotado...) se
+     * envuelven en {@link ServicioNoDisponibleException} aunque el circuito
+     * siga cerrado; los errores de negocio pasan tal cual.
+     * 
+     * @param llamada La operación sobre el repositorio
+     * @return El resultado de la operación
+     * @throws ServicioNoDisponibleException si el circuito está abierto o la base de datos falla
+     */
+    public <T> T ejecutar(Supplier<T> llamada) {
+        if (!permitirLlamada()) {
+            throw new ServicioNoDisponibleException("La base de datos no está disponible temporalmente");
+        }
+        long inicio = System.nanoTime();
+        try {
+            T resultado = llamada.get();
+            registrarExito(System.nanoTime() - inicio);
+            return resultado;
+        } catch (RuntimeException e) {
+            if (!esFalloInfraestructura(e)) {
+                registrarExito(System.nanoTime() - inicio);
+                throw e;
+            }
+            registrarFallo();
+            if (e instanceof ServicioNoDisponibleException) {
+                throw e;
+            }
+            // Para el llamador es lo mismo que el circuito abierto: no es culpa del cliente
+            throw new ServicioNoDisponibleException("La base de datos no está disponible temporalmente", e);
+        }
+    }
+
+    /**
+     * Variante de {@link #ejecutar(Supplier)} para operaciones sin resultado
+     * 
+     * @param llamada La operación sobre el repositorio
+     */
+    public void ejecutarSinResultado(Runnable llamada) {
+        ejecutar(() -> {
+            llamada.run();
+            return null;
+        });
+    }
+
+    /**
+     * Obtiene el estado actual del circuito
+     * 
+     * @return CERRADO, ABIERTO o SEMI_ABIERTO
+     */
+    public Estado getEstado() {
+        return estado.get();
+    }
+
+    /**
+     * Espera un turno de lectura libre
+     * 
+     * No pasa por el circuito: quedarse sin turno significa que tenemos
+     * mucho tráfico, no que la base de datos esté mal.
+     */
+    private void esperarTurno() {
+        try {
+            if (!turnosLectura.tryAcquire(timeoutLecturaMillis, TimeUnit.MILLISECONDS)) {
+                throw new LecturasSaturadasException("Demasiadas lecturas pendientes en la base de datos");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LecturasSaturadasException("Lectura interrumpida mientras esperaba turno");
+        }
+    }
+
+    /**
+     * Espera el resultado de una lectura ya enviada, como mucho timeout-lectura-ms
+     */
+    private <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.get(timeoutLecturaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // cancel() no interrumpe la consulta: la corta el timeout de consulta
+            // de JPA/JDBC (jakarta.persistence.query.timeout), que libera el hilo
+            futuro.cancel(true);
+            throw new ServicioNoDisponibleException("La base de datos no respondió a tiempo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioNoDisponibleException("Lectura interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Decide si una llamada puede ir a la base de datos
+     * 
+     * Cuando el circuito lleva abierto el tiempo configurado, solo el primer
+     * hilo que logra pasar a SEMI_ABIERTO hace la llamada de prueba.
+     */
+    private boolean permitirLlamada() {
+        Estado actual = estado.get();
+        if (actual == Estado.CERRADO) {
+            return true;
+        }
+        if (actual == Estado.ABIERTO && System.nanoTime() - abiertoDesdeNanos >= tiempoAbiertoNanos) {
+            return estado.compareAndSet(Estado.ABIERTO, Estado.SEMI_ABIERTO);
+        }
+        return false;
+    }
+
+    /**
+     * Decide si una excepción indica que la base de datos no está sana
+     */
+    private static boolean esFalloInfraestructura(Throwable e) {
+        if (e instanceof LecturasSaturadasException) {
+            return false;
+        }
+        return e instanceof ServicioNoDisponibleException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                // Con JPA, si no hay conexión falla el inicio de la transacción
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Registra una llamada terminada; si fue demasiado lenta cuenta como fallo
+     * 
+     * Con el circuito abierto se ignora: es una llamada que empezó antes de
+     * abrirlo y no dice nada de cómo está ahora la base de datos. Solo la
+     * llamada de prueba (SEMI_ABIERTO) puede cerrarlo.
+     */
+    private void registrarExito(long duracionNanos) {
+        if (duracionNanos > latenciaLentaNanos) {
+            registrarFallo();
+            return;
+        }
+        Estado actual = estado.get();
+        if (actual == Estado.ABIERTO) {
+            return;
+        }
+        fallosConsecutivos.set(0);
+        if (actual == Estado.SEMI_ABIERTO) {
+            estado.compareAndSet(Estado.SEMI_ABIERTO, Estado.CERRADO);
+        }
+    }
+
+    /**
+     * Registra un fallo y abre el circuito si corresponde
+     * 
+     * Los fallos que llegan con el circuito ya abierto tampoco cuentan:
+     * alargarían el tiempo abierto por llamadas que empezaron antes.
+     */
+    private void registrarFallo() {
+        Estado actual = estado.get();
+        if (actual == Estado.ABIERTO) {
+            return;
+        }
+        if (actual == Estado.SEMI_ABIERTO
+                || fallosConsecutivos.incrementAndGet() >= umbralFallos) {
+            fallosConsecutivos.set(0);
+            abiertoDesdeNanos = System.nanoTime();
+            estado.set(Estado.ABIERTO);
+        }
+    }
+
+    /**
+     * Detiene los hilos de lectura al cerrar la aplicación
+     */
+    @PreDestroy
+    public void cerrar() {
+        ejecutorLecturas.shutdownNow();
+    }
+}
@@ -0,0 +1,412 @@
+package com.ejemplo.articulos.resiliencia;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.popularidad.RastreadorPopularidad;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+
+/**
+ * Última copia buena conocida del catálogo ("last-known-good snapshot")
+ * 
+ * Guardamos en memoria el último listado que leímos con éxito de la base de
+ * datos. Si MySQL se pone lento o se cae, el servicio puede seguir mostrando
+ * esta copia (marcada como obsoleta) en lugar de dejar la tienda en blanco.
+ * 
+ * La copia se refresca sola en segundo plano cada pocos segundos, pasando
+ * por el circuit breaker: si el circuito está abierto el refresco se salta,
+ * y cuando toca probar de nuevo el propio refresco hace de llamada de prueba.
+ * Las escrituras del propio servicio se reflejan al momento.
+ * 
+ * Además, los artículos más leídos (según {@link RastreadorPopularidad})
+ * se releen con más frecuencia que el resto. Si la base de datos se cae,
+ * lo que más se consulta es justo lo que tenemos más al día.
+ * 
+ * La instantánea es inmutable y se reemplaza entera con
+ * AtomicReference.updateAndGet, así que las lecturas no necesitan locks y
+ * dos actualizaciones concurrentes no se pisan.
+ * 
+ * Para que un listado lento no borre escrituras más recientes, cada
+ * escritura recibe un número de secuencia y queda apuntada hasta el
+ * siguiente refresco. Un listado solo contiene las escrituras anteriores
+ * a su inicio; las posteriores se vuelven a aplicar encima.
+ * 
+ * Con la fragmentación activada el catálogo puede no caber en la memoria
+ * de cada instancia, así que la copia es parcial: solo guarda los
+ * artículos populares (releídos por {@link #refrescarPopulares()}), no
+ * hace el refresco completo y no ofrece listado. Si la base de datos falla,
+ * los GET por ID de artículos populares siguen respondiendo y el resto
+ * (incluido el listado) responde 503.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+@Component
+public class InstantaneaCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(InstantaneaCatalogo.class);
+
+    /**
+     * Contenido inmutable de la instantánea
+     * 
+     * @param listado Los artículos tal como los devolvió la base de datos
+     * @param porId Los mismos artículos indexados por ID
+     * @param fecha Momento en que se leyó de la base de datos
+     * @param base Secuencia de escrituras al empezar la lectura del listado
+     */
+    private record Contenido(List<Articulo> listado, Map<Long, Articulo> porId, Instant fecha, long base) {}
+
+    /**
+     * Escritura hecha por el servicio después de un listado
+     * 
+     * @param secuencia Número de orden de la escritura
+     * @param id El ID del artículo escrito
+     * @param articulo Los datos nuevos, o null si el artículo se eliminó
+     */
+    private record Cambio(long secuencia, Long id, Articulo articulo) {
+
+        static Cambio masReciente(Cambio a, Cambio b) {
+            return b.secuencia() > a.secuencia() ? b : a;
+        }
+    }
+
+    private final AlmacenArticulos almacenArticulos;
+    private final CircuitoBaseDatos circuitoBaseDatos;
+    private final RastreadorPopularidad rastreadorPopularidad;
+
+    /**
+     * Instantánea actual; contiene null hasta la primera lectura exitosa
+     */
+    private final AtomicReference<Contenido> contenido = new AtomicReference<>();
+
+    /**
+     * Contador de escrituras, para saber qué es más reciente que un listado
+     */
+    private final AtomicLong secuencia = new AtomicLong();
+
+    /**
+     * Escrituras que un listado en curso podría no incluir, por ID de artículo
+     */
+    private final Map<Long, Cambio> cambios = new ConcurrentHashMap<>();
+
+    /**
+     * Si es true solo guardamos los artículos populares (ver la clase)
+     */
+    private final boolean parcial;
+
+    /**
+     * Crea una copia del catálogo completo
+     * 
+     * @param almacenArticulos El almacén de artículos
+     * @param circuitoBaseDatos El circuit breaker de la base de datos
+     * @param rastreadorPopularidad El rastreador de artículos populares
+     */
+    public InstantaneaCatalogo(AlmacenArticulos almacenArticulos, CircuitoBaseDatos circuitoBaseDatos,
+                               RastreadorPopularidad rastreadorPopularidad) {
+        this(almacenArticulos, circuitoBaseDatos, rastreadorPopularidad, false);
+    }
+
+    /**
+     * Constructor que recibe sus dependencias por inyección
+     * 
+     * @param almacenArticulos El almacén de artículos
+     * @param circuitoBaseDatos El circuit breaker de la base de datos
+     * @param rastreadorPopularidad El rastreador de artículos populares
+     * @param parcial true para guardar solo los artículos populares (con fragmentación)
+     */
+    @Autowired
+    public InstantaneaCatalogo(AlmacenArticulos almacenArticulos, CircuitoBaseDatos circuitoBaseDatos,
+                               RastreadorPopularidad rastreadorPopularidad,
+                               @Value("${articulos.fragmentacion.habilitada:false}") boolean parcial) {
+        this.almacenArticulos = almacenArticulos;
+        this.circuitoBaseDatos = circuitoBaseDatos;
+        this.rastreadorPopularidad = rastreadorPopularidad;
+        this.parcial = parcial;
+        if (parcial) {
+            // No hay listado que esperar: la copia parcial empieza vacía y va llenándose
+            contenido.set(crear(List.of(), Instant.now(), 0));
+        }
+    }
+
+    /**
+     * Refresca la instantánea en segundo plano
+     * 
+     * Se ejecuta al arrancar y luego periódicamente. Si falla, simplemente
+     * conservamos la copia anterior.
+     */
+    @Scheduled(fixedDelayString = "${articulos.resiliencia.refresco-ms:10000}")
+    public void refrescar() {
+        if (parcial) {
+            return;
+        }
+        try {
+            long inicio = inicioLectura();
+            actualizar(circuitoBaseDatos.ejecutarLectura(almacenArticulos::findAll), inicio);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo refrescar la instantánea del catálogo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relee los artículos más populares entre dos refrescos completos
+     * 
+     * Son solo K consultas por ID, mucho más baratas que el listado entero.
+     * Si el circuito está abierto o falla una lectura, lo dejamos para la
+     * próxima vez.
+     */
+    @Scheduled(fixedDelayString = "${articulos.popularidad.precalentamiento-ms:2000}")
+    public void refrescarPopulares() {
+        if (!disponible()) {
+            return;
+        }
+        long inicio = inicioLectura();
+        List<Long> populares = rastreadorPopularidad.articulosMasPopulares();
+        Map<Long, Optional<Articulo>> leidos = new HashMap<>();
+        try {
+            for (Long id : populares) {
+                leidos.put(id, circuitoBaseDatos.ejecutarLectura(() -> almacenArticulos.findById(id)));
+            }
+        } catch (RuntimeException e) {
+            log.debug("No se pudieron releer los artículos populares: {}", e.getMessage());
+        }
+        actualizarArticulos(leidos, inicio);
+        if (parcial) {
+            recortar(Set.copyOf(populares), inicio);
+        }
+    }
+
+    /**
+     * En la copia parcial, olvida los artículos que ya no son populares
+     * 
+     * Como aquí no hay listados completos, también es el momento de limpiar
+     * las escrituras anteriores a la lectura, que ya están aplicadas.
+     */
+    private void recortar(Set<Long> populares, long inicio) {
+        contenido.updateAndGet(actual -> {
+            List<Articulo> resultado = new ArrayList<>(actual.listado());
+            resultado.removeIf(articulo -> !populares.contains(articulo.getId()));
+            return crear(resultado, actual.fecha(), actual.base());
+        });
+        cambios.values().removeIf(cambio -> cambio.secuencia() <= inicio);
+    }
+
+    /**
+     * Refleja en la instantánea algunos artículos recién leídos por ID
+     * 
+     * Igual que con el listado, no pisamos escrituras posteriores al
+     * inicio de la lectura ni un listado completo leído después.
+     * 
+     * @param leidos ID de cada artículo leído y su resultado (vacío si ya no existe)
+     * @param inicio El valor de {@link #inicioLectura()} antes de las consultas
+     */
+    public void actualizarArticulos(Map<Long, Optional<Articulo>> leidos, long inicio) {
+        if (leidos.isEmpty()) {
+            return;
+        }
+        contenido.updateAndGet(actual -> {
+            if (actual == null || actual.base() > inicio) {
+                return actual;
+            }
+            List<Articulo> resultado = new ArrayList<>(actual.listado());
+            leidos.forEach((id, articulo) -> {
+                Cambio posterior = cambios.get(id);
+                if (posterior == null || posterior.secuencia() <= inicio) {
+                    aplicar(resultado, new Cambio(inicio, id, articulo.orElse(null)));
+                }
+            });
+            return crear(resultado, actual.fecha(), actual.base());
+        });
+    }
+
+    /**
+     * Marca el comienzo de una lectura completa del catálogo
+     * 
+     * Hay que llamarlo justo antes de consultar la base de datos y pasar
+     * el valor devuelto a {@link #actualizar(List, long)}.
+     * 
+     * @return La secuencia de escrituras en este momento
+     */
+    public long inicioLectura() {
+        return secuencia.get();
+    }
+
+    /**
+     * Reemplaza la instantánea con un listado recién leído
+     * 
+     * En la copia parcial no hace nada. Si mientras tanto otro listado más reciente ya se aplicó, este se
+     * descarta. Las escrituras posteriores al inicio de la lectura se
+     * aplican encima del listado.
+     * 
+     * @param listado El listado completo obtenido de la base de datos
+     * @param inicio El valor de {@link #inicioLectura()} antes de la consulta
+     */
+    public void actualizar(List<Articulo> listado, long inicio) {
+        if (parcial) {
+            // Guardar el listado entero es justo lo que la copia parcial evita
+            return;
+        }
+        Instant fecha = Instant.now();
+        contenido.updateAndGet(actual -> {
+            if (actual != null && actual.base() > inicio) {
+                return actual;
+            }
+            List<Articulo> resultado = new ArrayList<>(listado);
+            for (Cambio cambio : cambios.values()) {
+                if (cambio.secuencia() > inicio) {
+                    aplicar(resultado, cambio);
+                }
+            }
+            return crear(resultado, fecha, inicio);
+        });
+        // Lo anterior al inicio ya viene en cualquier listado que se aplique desde ahora
+        cambios.values().removeIf(cambio -> cambio.secuencia() <= inicio);
+    }
+
+    /**
+     * Refleja en la instantánea un artículo guardado por el servicio
+     * 
+     * Mantiene el orden del listado: si el artículo ya estaba se reemplaza
+     * en su sitio, si es nuevo se añade al final.
+     * 
+     * @param articulo El artículo con sus datos actuales
+     */
+    public void actualizarArticulo(Articulo articulo) {
+        if (articulo.getId() != null) {
+            registrar(new Cambio(secuencia.incrementAndGet(), articulo.getId(), articulo));
+        }
+    }
+
+    /**
+     * Quita de la instantánea un artículo eliminado por el servicio
+     * 
+     * @param id El ID del artículo
+     */
+    public void quitarArticulo(Long id) {
+        registrar(new Cambio(secuencia.incrementAndGet(), id, null));
+    }
+
+    /**
+     * Devuelve el listado guardado, si ya tenemos alguno
+     * 
+     * La copia parcial nunca tiene listado.
+     * 
+     * @return Optional con el último listado bueno conocido
+     */
+    public Optional<List<Articulo>> listado() {
+        Contenido actual = contenido.get();
+        return actual == null || parcial ? Optional.empty() : Optional.of(actual.listado());
+    }
+
+    /**
+     * Busca un artículo en la instantánea
+     * 
+     * @param id El ID del artículo
+     * @return Optional con el artículo si estaba en la última copia buena
+     */
+    public Optional<Articulo> buscar(Long id) {
+        Contenido actual = contenido.get();
+        return actual == null ? Optional.empty() : Optional.ofNullable(actual.porId().get(id));
+    }
+
+    /**
+     * Indica si ya tenemos alguna copia buena del catálogo
+     * 
+     * @return true después de la primera lectura completa exitosa
+     */
+    public boolean disponible() {
+        return contenido.get() != null;
+    }
+
+    /**
+     * Indica si la copia tiene todo el catálogo
+     * 
+     * Si es parcial, que un ID no esté en la copia no significa que no exista.
+     * 
+     * @return false con la fragmentación activada
+     */
+    public boolean completa() {
+        return !parcial;
+    }
+
+    /**
+     * Obtiene el momento en que se leyó la instantánea
+     * 
+     * @return Optional con la fecha de la última lectura completa
+     */
+    public Optional<Instant> fecha() {
+        Contenido actual = contenido.get();
+        return actual == null ? Optional.empty() : Optional.of(actual.fecha());
+    }
+
+    /**
+     * Apunta una escritura y la aplica a la instantánea actual
+     */
+    private void registrar(Cambio cambio) {
+        cambios.merge(cambio.id(), cambio, Cambio::masReciente);
+        contenido.updateAndGet(actual -> {
+            if (actual == null) {
+                return null;
+            }
+            // Otra escritura del mismo artículo puede haber llegado después que la nuestra
+            Cambio vigente = Cambio.masReciente(cambio, cambios.getOrDefault(cambio.id(), cambio));
+            if (vigente.secuencia() <= actual.base()) {
+                // El listado actual se leyó después de esta escritura y ya la incluye
+                return actual;
+            }
+            if (parcial && !actual.porId().containsKey(vigente.id())) {
+                // La copia parcial solo sigue a los populares; los nuevos entran al releerlos
+                return actual;
+            }
+            List<Articulo> resultado = new ArrayList<>(actual.listado());
+            aplicar(resultado, vigente);
+            return crear(resultado, actual.fecha(), actual.base());
+        });
+    }
+
+    /**
+     * Aplica una escritura sobre un listado, conservando el orden
+     */
+    private static void aplicar(List<Articulo> listado, Cambio cambio) {
+        if (cambio.articulo() == null) {
+            listado.removeIf(existente -> existente.getId().equals(cambio.id()));
+            return;
+        }
+        boolean reemplazado = false;
+        for (int i = 0; i < listado.size(); i++) {
+            if (listado.get(i).getId().equals(cambio.id())) {
+                listado.set(i, cambio.articulo());
+                reemplazado = true;
+            }
+        }
+        if (!reemplazado) {
+            listado.add(cambio.articulo());
+        }
+    }
+
+    /**
+     * Construye una nueva instantánea inmutable
+     */
+    private static Contenido crear(List<Articulo> listado, Instant fecha, long base) {
+        Map<Long, Articulo> porId = new HashMap<>();
+        for (Articulo articulo : listado) {
+            porId.put(articulo.getId(), articulo);
+        }
+        return new Contenido(List.copyOf(listado), Map.copyOf(porId), fecha, base);
+    }
+}
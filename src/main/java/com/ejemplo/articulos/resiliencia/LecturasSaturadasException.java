@@ -0,0 +1,23 @@
+package com.ejemplo.articulos.resiliencia;
+
+/**
+ * Excepción que indica que no quedan hilos de lectura libres
+ * 
+ * Es un problema de la propia aplicación (demasiadas peticiones a la vez),
+ * no de la base de datos, así que el circuit breaker no la cuenta como fallo.
+ * Para el cliente sigue siendo un 503 Service Unavailable.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class LecturasSaturadasException extends ServicioNoDisponibleException {
+
+    /**
+     * Crea la excepción con un mensaje descriptivo
+     * 
+     * @param mensaje Explicación del motivo
+     */
+    public LecturasSaturadasException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ejemplo.articulos.resiliencia;
+
+/**
+ * Excepción que indica que la base de datos no está disponible
+ * 
+ * Se lanza cuando el circuito está abierto (fallamos rápido sin tocar
+ * la base de datos), cuando una lectura supera el tiempo máximo de espera
+ * o cuando la base de datos falla por un problema de infraestructura.
+ * El controlador la traduce a un 503 Service Unavailable.
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public class ServicioNoDisponibleException extends RuntimeException {
+
+    /**
+     * Crea la excepción con un mensaje descriptivo
+     * 
+     * @param mensaje Explicación del motivo
+     */
+    public ServicioNoDisponibleException(String mensaje) {
+        super(mensaje);
+    }
+
+    /**
+     * Crea la excepción con un mensaje y la causa original
+     * 
+     * @param mensaje Explicación del motivo
+     * @param causa La excepción que provocó el fallo
+     */
+    public ServicioNoDisponibleException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
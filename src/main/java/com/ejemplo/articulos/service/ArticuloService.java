@@ -33,17 +33,44 @@ public interface ArticuloService {
     /**
      * Busca un artículo específico por su ID
      * 
+     * Pensado para comprobaciones internas (por ejemplo, antes de actualizar
+     * o eliminar): no cuenta como lectura para el ranking de populares.
+     * 
      * @param id El identificador único del artículo
      * @return Optional que contiene el artículo si existe, o vacío si no se encuentra
      */
     Optional<Articulo> obtenerArticuloPorId(Long id);
     
+    /**
+     * Obtiene la lista completa de artículos indicando si está al día
+     * 
+     * Si la base de datos no está disponible se devuelve la última copia
+     * buena conocida, marcada como obsoleta.
+     * 
+     * @return Lectura con todos los artículos
+     * @throws RuntimeException si la base de datos falla y aún no hay copia en memoria
+     */
+    Lectura<List<Articulo>> leerArticulos();
+    
+    /**
+     * Busca un artículo por su ID indicando si el resultado está al día
+     * 
+     * Es la lectura que hace un cliente (GET /api/articulos/{id}), así que
+     * cuenta para el ranking de artículos populares.
+     * 
+     * @param id El identificador único del artículo
+     * @return Lectura con el artículo si existe, o con un Optional vacío si no
+     * @throws RuntimeException si la base de datos falla y aún no hay copia en memoria
+     */
+    Lectura<Optional<Articulo>> leerArticuloPorId(Long id);
+    
     /**
      * Guarda un nuevo artículo en el sistema
      * 
      * @param articulo El artículo a guardar
      * @return El artículo guardado (con su ID generado)
      * @throws RuntimeException si hay algún problema de validación
+     * @throws com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException si la base de datos no está disponible
      */
     Articulo guardarArticulo(Articulo articulo);
     
@@ -54,6 +81,7 @@ public interface ArticuloService {
      * @param articulo Los nuevos datos del artículo
      * @return El artículo actualizado
      * @throws RuntimeException si hay problemas de validación o el artículo no existe
+     * @throws com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException si la base de datos no está disponible
      */
     Articulo actualizarArticulo(Long id, Articulo articulo);
     
@@ -61,6 +89,7 @@ public interface ArticuloService {
      * Elimina un artículo del sistema
      * 
      * @param id El ID del artículo a eliminar
+     * @throws com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException si la base de datos no está disponible
      */
     void eliminarArticulo(Long id);
 }
@@ -7,8 +7,13 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.ejemplo.articulos.jfr.ContextoPeticion;
+import com.ejemplo.articulos.jfr.ValidacionEvent;
 import com.ejemplo.articulos.model.Articulo;
-import com.ejemplo.articulos.repository.ArticuloRepository;
+import com.ejemplo.articulos.popularidad.RastreadorPopularidad;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+import com.ejemplo.articulos.resiliencia.CircuitoBaseDatos;
+import com.ejemplo.articulos.resiliencia.InstantaneaCatalogo;
 
 /**
  * Implementación del servicio de artículos
@@ -22,6 +27,11 @@ import com.ejemplo.articulos.repository.ArticuloRepository;
  * - Transformaciones de datos
  * - Manejo de errores específicos del dominio
  * 
+ * Todas las llamadas al repositorio pasan por un circuit breaker. Si la base
+ * de datos falla o se pone lenta, las lecturas devuelven la última copia
+ * buena del catálogo (marcada como obsoleta) y las escrituras fallan al
+ * instante mientras el circuito esté abierto.
+ * 
  * La anotación @Service le dice a Spring que esta es una clase de servicio
  * y que debe ser gestionada por el contenedor de inyección de dependencias.
  * 
@@ -32,37 +42,60 @@ import com.ejemplo.articulos.repository.ArticuloRepository;
 public class ArticuloServiceImpl implements ArticuloService {
 
     /**
-     * Repositorio para acceder a los datos de artículos
+     * Almacén para acceder a los datos de artículos
+     * 
+     * Esta es nuestra conexión con la base de datos (o con los fragmentos,
+     * si está activado el sharding). La marcamos como final para asegurar
+     * que no cambie después de la inicialización.
+     */
+    private final AlmacenArticulos almacenArticulos;
+
+    /**
+     * Rastreador que cuenta las lecturas de cada artículo
      * 
-     * Esta es nuestra conexión con la base de datos. La marcamos como final
-     * para asegurar que no cambie después de la inicialización.
+     * Nos permite saber qué artículos son realmente populares.
+     */
+    private final RastreadorPopularidad rastreadorPopularidad;
+
+    /**
+     * Circuit breaker que protege todas las llamadas a la base de datos
+     */
+    private final CircuitoBaseDatos circuitoBaseDatos;
+
+    /**
+     * Última copia buena del catálogo para cuando la base de datos falla
      */
-    private final ArticuloRepository articuloRepository;
+    private final InstantaneaCatalogo instantaneaCatalogo;
 
     /**
-     * Constructor que recibe el repositorio por inyección de dependencias
+     * Constructor que recibe el almacén por inyección de dependencias
      * 
-     * Spring automáticamente nos pasa una instancia del repositorio
-     * cuando crea este servicio.
+     * Spring automáticamente nos pasa el almacén que corresponda
+     * (JPA o fragmentado) cuando crea este servicio.
      * 
-     * @param articuloRepository El repositorio de artículos
+     * @param almacenArticulos El almacén de artículos
+     * @param rastreadorPopularidad El rastreador de artículos populares
+     * @param circuitoBaseDatos El circuit breaker de la base de datos
+     * @param instantaneaCatalogo La última copia buena del catálogo
      */
     @Autowired
-    public ArticuloServiceImpl(ArticuloRepository articuloRepository) {
-        this.articuloRepository = articuloRepository;
+    public ArticuloServiceImpl(AlmacenArticulos almacenArticulos,
+                               RastreadorPopularidad rastreadorPopularidad,
+                               CircuitoBaseDatos circuitoBaseDatos,
+                               InstantaneaCatalogo instantaneaCatalogo) {
+        this.almacenArticulos = almacenArticulos;
+        this.rastreadorPopularidad = rastreadorPopularidad;
+        this.circuitoBaseDatos = circuitoBaseDatos;
+        this.instantaneaCatalogo = instantaneaCatalogo;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Simplemente delega al repositorio para obtener todos los artículos.
-     * En el futuro podríamos agregar lógica adicional aquí como:
-     * - Filtros por usuario
-     * - Ordenamiento personalizado
-     * - Paginación
+     * Devuelve los artículos de {@link #leerArticulos()}, estén al día o no.
      */
     public List<Articulo> listarArticulos() {
-        return articuloRepository.findAll();
+        return leerArticulos().valor();
     }
 
     /**
@@ -70,9 +103,76 @@ public class ArticuloServiceImpl implements ArticuloService {
      * 
      * Busca un artículo por ID. Devuelve un Optional para manejar
      * elegantemente el caso donde no se encuentra el artículo.
+     * 
+     * No cuenta para la popularidad: se usa para comprobar que el artículo
+     * existe antes de actualizarlo o eliminarlo.
      */
     public Optional<Articulo> obtenerArticuloPorId(Long id) {
-        return articuloRepository.findById(id);
+        return buscarArticulo(id).valor();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Lee todos los artículos de la base de datos y, de paso, refresca la
+     * copia en memoria. En el futuro podríamos agregar lógica adicional como:
+     * - Filtros por usuario
+     * - Ordenamiento personalizado
+     * - Paginación
+     * 
+     * También registra el listado en el rastreador de popularidad.
+     */
+    public Lectura<List<Articulo>> leerArticulos() {
+        rastreadorPopularidad.registrarListado();
+        try {
+            long inicio = instantaneaCatalogo.inicioLectura();
+            List<Articulo> articulos = circuitoBaseDatos.ejecutarLectura(almacenArticulos::findAll);
+            instantaneaCatalogo.actualizar(articulos, inicio);
+            return Lectura.actual(articulos);
+        } catch (RuntimeException e) {
+            // La base de datos falló: servimos la última copia buena si la tenemos
+            List<Articulo> copia = instantaneaCatalogo.listado().orElseThrow(() -> e);
+            return Lectura.obsoleta(copia);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Si el artículo existe, contamos la lectura para saber cuáles son
+     * los más populares (los IDs inexistentes no ensucian el ranking).
+     */
+    public Lectura<Optional<Articulo>> leerArticuloPorId(Long id) {
+        Lectura<Optional<Articulo>> lectura = buscarArticulo(id);
+        lectura.valor().ifPresent(encontrado -> rastreadorPopularidad.registrarAcceso(encontrado.getId()));
+        return lectura;
+    }
+
+    /**
+     * Busca un artículo por ID sin contarlo para la popularidad
+     * 
+     * Si la base de datos falla respondemos con la copia en memoria: si
+     * contiene el catálogo completo, un ID que no está en ella tampoco
+     * existía la última vez que pudimos consultar. Con la copia parcial
+     * (fragmentación) un ID que no está es desconocido, así que fallamos.
+     * 
+     * Las lecturas por ID no actualizan la copia: rehacerla cuesta O(N) y
+     * este es el camino más usado. Ya se encarga el refresco periódico.
+     */
+    private Lectura<Optional<Articulo>> buscarArticulo(Long id) {
+        try {
+            Optional<Articulo> articulo = circuitoBaseDatos.ejecutarLectura(() -> almacenArticulos.findById(id));
+            return Lectura.actual(articulo);
+        } catch (RuntimeException e) {
+            if (!instantaneaCatalogo.disponible()) {
+                throw e;
+            }
+            Optional<Articulo> copia = instantaneaCatalogo.buscar(id);
+            if (copia.isEmpty() && !instantaneaCatalogo.completa()) {
+                throw e;
+            }
+            return Lectura.obsoleta(copia);
+        }
     }
 
     /**
@@ -82,20 +182,22 @@ public class ArticuloServiceImpl implements ArticuloService {
      * 1. Valida que los datos sean correctos
      * 2. Verifica que no exista un artículo con el mismo nombre
      * 3. Limpia los datos antes de guardar
-     * 4. Delega al repositorio para la persistencia
+     * 4. Delega al almacén para la persistencia
      */
     public Articulo guardarArticulo(Articulo articulo) {
         // Primero validamos que todos los datos estén correctos
-        validarArticulo(articulo);
+        validarArticulo(null, articulo);
         
         // Verificamos que no exista ya un artículo con este nombre
-        if (articuloRepository.existsByNombre(articulo.getNombre().trim())) {
+        if (circuitoBaseDatos.ejecutar(() -> almacenArticulos.existsByNombre(articulo.getNombre().trim()))) {
             throw new RuntimeException("Ya existe un artículo con el nombre: " + articulo.getNombre());
         }
         
         // Limpiamos el nombre (quitamos espacios extra) antes de guardar
         articulo.setNombre(articulo.getNombre().trim());
-        return articuloRepository.save(articulo);
+        Articulo guardado = circuitoBaseDatos.ejecutar(() -> almacenArticulos.save(articulo));
+        instantaneaCatalogo.actualizarArticulo(guardado);
+        return guardado;
     }
 
     /**
@@ -106,17 +208,19 @@ public class ArticuloServiceImpl implements ArticuloService {
      */
     public Articulo actualizarArticulo(Long id, Articulo articulo) {
         // Validamos los datos del artículo
-        validarArticulo(articulo);
+        validarArticulo(id, articulo);
         
         // Verificamos duplicados, pero excluimos el artículo que estamos editando
-        if (articuloRepository.existsByNombreAndIdNot(articulo.getNombre().trim(), id)) {
+        if (circuitoBaseDatos.ejecutar(() -> almacenArticulos.existsByNombreAndIdNot(articulo.getNombre().trim(), id))) {
             throw new RuntimeException("Ya existe un artículo con el nombre: " + articulo.getNombre());
         }
         
         // Limpiamos los datos y establecemos el ID
         articulo.setNombre(articulo.getNombre().trim());
         articulo.setId(id);
-        return articuloRepository.save(articulo);
+        Articulo actualizado = circuitoBaseDatos.ejecutar(() -> almacenArticulos.save(articulo));
+        instantaneaCatalogo.actualizarArticulo(actualizado);
+        return actualizado;
     }
     
     /**
@@ -128,7 +232,34 @@ public class ArticuloServiceImpl implements ArticuloService {
      * - Auditoría de eliminaciones
      */
     public void eliminarArticulo(Long id) {
-        articuloRepository.deleteById(id);
+        circuitoBaseDatos.ejecutarSinResultado(() -> almacenArticulos.deleteById(id));
+        instantaneaCatalogo.quitarArticulo(id);
+    }
+    
+    /**
+     * Valida un artículo registrando la validación como evento de JFR
+     * 
+     * @param id El ID del artículo si ya existe, o null si es nuevo
+     * @param articulo El artículo a validar
+     * @throws RuntimeException si alguna validación falla
+     */
+    private void validarArticulo(Long id, Articulo articulo) {
+        ValidacionEvent evento = new ValidacionEvent();
+        evento.begin();
+        try {
+            validarArticulo(articulo);
+            evento.valido = true;
+        } catch (RuntimeException e) {
+            evento.motivo = e.getMessage();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.peticionId = ContextoPeticion.actual();
+                evento.articuloId = id != null ? id : 0;
+                evento.commit();
+            }
+        }
     }
     
     /**
@@ -0,0 +1,38 @@
+package com.ejemplo.articulos.service;
+
+/**
+ * Resultado de una lectura que indica si los datos están al día
+ * 
+ * Cuando la base de datos no responde, el servicio puede devolver la última
+ * copia buena del catálogo. En ese caso {@code obsoleta} es true, y el
+ * controlador se lo hace saber al cliente con una cabecera de respuesta.
+ * 
+ * @param valor Los datos leídos
+ * @param obsoleta true si los datos salen de la copia en memoria y no de la base de datos
+ * @param <T> El tipo de los datos leídos
+ * 
+ * @author Sistema de Gestión de Artículos
+ * @version 1.0
+ */
+public record Lectura<T>(T valor, boolean obsoleta) {
+
+    /**
+     * Crea una lectura con datos recién obtenidos de la base de datos
+     * 
+     * @param valor Los datos leídos
+     * @return La lectura marcada como actual
+     */
+    public static <T> Lectura<T> actual(T valor) {
+        return new Lectura<>(valor, false);
+    }
+
+    /**
+     * Crea una lectura servida desde la última copia buena conocida
+     * 
+     * @param valor Los datos de la copia
+     * @return La lectura marcada como obsoleta
+     */
+    public static <T> Lectura<T> obsoleta(T valor) {
+        return new Lectura<>(valor, true);
+    }
+}
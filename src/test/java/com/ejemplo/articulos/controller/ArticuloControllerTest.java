@@ -0,0 +1,122 @@
+package com.ejemplo.articulos.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.resiliencia.CircuitoBaseDatos;
+import com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException;
+import com.ejemplo.articulos.service.ArticuloService;
+import com.ejemplo.articulos.service.Lectura;
+
+/**
+ * Pruebas de las respuestas HTTP del controlador con un servicio simulado
+ */
+class ArticuloControllerTest {
+
+    private static final String JSON = "{\"nombre\":\"Café\",\"precio\":3.0}";
+
+    private final ArticuloService servicio = mock(ArticuloService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new ArticuloController(servicio)).build();
+
+    @Test
+    void listadoObsoletoLlevaLaCabecera() throws Exception {
+        when(servicio.leerArticulos()).thenReturn(Lectura.obsoleta(List.of(new Articulo(1L, "Café", 3.0))));
+
+        mvc.perform(get("/api/articulos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ArticuloController.CABECERA_DATOS_OBSOLETOS, "true"))
+                .andExpect(jsonPath("$[0].nombre").value("Café"));
+    }
+
+    @Test
+    void listadoAlDiaNoLlevaLaCabecera() throws Exception {
+        when(servicio.leerArticulos()).thenReturn(Lectura.actual(List.of()));
+
+        mvc.perform(get("/api/articulos"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ArticuloController.CABECERA_DATOS_OBSOLETOS));
+    }
+
+    @Test
+    void articuloObsoletoLlevaLaCabecera() throws Exception {
+        when(servicio.leerArticuloPorId(1L)).thenReturn(Lectura.obsoleta(Optional.of(new Articulo(1L, "Café", 3.0))));
+
+        mvc.perform(get("/api/articulos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ArticuloController.CABECERA_DATOS_OBSOLETOS, "true"));
+    }
+
+    @Test
+    void crearConLaBaseDeDatosCaidaResponde503() throws Exception {
+        // Lo que CircuitoBaseDatos.ejecutar lanza ante un fallo de conexión
+        when(servicio.guardarArticulo(any())).thenThrow(new ServicioNoDisponibleException(
+                "La base de datos no está disponible temporalmente",
+                new CannotCreateTransactionException("Could not open JPA EntityManager")));
+
+        mvc.perform(post("/api/articulos").contentType(MediaType.APPLICATION_JSON).content(JSON))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void crearConFalloDeInfraestructuraConElCircuitoCerradoResponde503() throws Exception {
+        CircuitoBaseDatos circuito = new CircuitoBaseDatos(5, 1000, 2000, 1000, 1);
+        try {
+            when(servicio.guardarArticulo(any())).thenAnswer(invocacion -> circuito.ejecutar(() -> {
+                throw new CannotCreateTransactionException("Could not open JPA EntityManager");
+            }));
+
+            mvc.perform(post("/api/articulos").contentType(MediaType.APPLICATION_JSON).content(JSON))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            circuito.cerrar();
+        }
+    }
+
+    @Test
+    void actualizarConLaBaseDeDatosCaidaResponde503() throws Exception {
+        when(servicio.obtenerArticuloPorId(1L)).thenReturn(Optional.of(new Articulo(1L, "Té", 2.0)));
+        when(servicio.actualizarArticulo(eq(1L), any())).thenThrow(
+                new ServicioNoDisponibleException("La base de datos no está disponible temporalmente"));
+
+        mvc.perform(put("/api/articulos/1").contentType(MediaType.APPLICATION_JSON).content(JSON))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void eliminarConLaBaseDeDatosCaidaResponde503() throws Exception {
+        when(servicio.obtenerArticuloPorId(1L)).thenReturn(Optional.of(new Articulo(1L, "Té", 2.0)));
+        doThrow(new ServicioNoDisponibleException("La base de datos no está disponible temporalmente"))
+                .when(servicio).eliminarArticulo(1L);
+
+        mvc.perform(delete("/api/articulos/1"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void errorDeValidacionSigueSiendo400() throws Exception {
+        when(servicio.guardarArticulo(any())).thenThrow(new RuntimeException("El precio debe ser mayor a 0"));
+
+        mvc.perform(post("/api/articulos").contentType(MediaType.APPLICATION_JSON).content(JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
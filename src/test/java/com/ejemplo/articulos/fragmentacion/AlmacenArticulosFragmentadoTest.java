@@ -0,0 +1,341 @@
+package com.ejemplo.articulos.fragmentacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ejemplo.articulos.model.Articulo;
+
+/**
+ * Pruebas del almacén fragmentado sobre tres bases de datos H2 en memoria
+ */
+class AlmacenArticulosFragmentadoTest {
+
+    private static final int FRAGMENTOS = 3;
+
+    private JdbcTemplate principal;
+    private List<JdbcTemplate> fragmentos;
+    private DirectorioNombres directorio;
+    private GeneradorIds generador;
+    private AlmacenArticulosFragmentado almacen;
+
+    @BeforeEach
+    void crearBasesDeDatos() {
+        // Nombres únicos por prueba para que no compartan datos
+        String prefijo = UUID.randomUUID().toString();
+        principal = baseDeDatos(prefijo + "-principal");
+        fragmentos = new ArrayList<>();
+        for (int i = 0; i < FRAGMENTOS; i++) {
+            fragmentos.add(baseDeDatos(prefijo + "-fragmento" + i));
+        }
+
+        directorio = new DirectorioNombres(principal);
+        generador = nuevoGenerador(10);
+        // Sin periodo de gracia: cualquier reserva se comprueba contra su fragmento
+        almacen = new AlmacenArticulosFragmentado(fragmentos, directorio, generador, 1000, 2, Duration.ZERO);
+
+        directorio.inicializarEsquema();
+        generador.inicializarEsquema();
+        almacen.inicializarEsquema();
+    }
+
+    @AfterEach
+    void cerrar() {
+        almacen.close();
+    }
+
+    @Test
+    void cadaArticuloViveSoloEnSuFragmento() {
+        for (int i = 0; i < 30; i++) {
+            almacen.save(new Articulo(null, "Artículo " + i, 10.0 + i));
+        }
+
+        for (Articulo articulo : almacen.findAll()) {
+            int propio = almacen.indiceFragmento(articulo.getId());
+            for (int i = 0; i < FRAGMENTOS; i++) {
+                assertThat(filasConId(fragmentos.get(i), articulo.getId())).isEqualTo(i == propio ? 1 : 0);
+            }
+            assertThat(almacen.findById(articulo.getId())).get()
+                    .extracting(Articulo::getNombre).isEqualTo(articulo.getNombre());
+        }
+        // Con 30 artículos todos los fragmentos reciben alguno
+        for (JdbcTemplate fragmento : fragmentos) {
+            assertThat(fragmento.queryForObject("SELECT COUNT(*) FROM articulo", Integer.class)).isPositive();
+        }
+    }
+
+    @Test
+    void listadosMezclanLosFragmentosEnOrden() {
+        double[] precios = {5.0, 1.5, 9.0, 1.5, 3.0, 7.5, 3.0, 2.0};
+        for (int i = 0; i < precios.length; i++) {
+            almacen.save(new Articulo(null, "Artículo " + i, precios[i]));
+        }
+
+        List<Articulo> todos = almacen.findAll();
+        assertThat(todos).hasSize(precios.length);
+        assertThat(todos).extracting(Articulo::getId).isSorted();
+
+        List<Articulo> baratos = almacen.findByPrecioBetween(1.5, 5.0);
+        assertThat(baratos).extracting(Articulo::getPrecio).containsExactly(1.5, 1.5, 2.0, 3.0, 3.0, 5.0);
+        // Con el mismo precio desempata el ID
+        assertThat(baratos.get(0).getId()).isLessThan(baratos.get(1).getId());
+        assertThat(baratos.get(3).getId()).isLessThan(baratos.get(4).getId());
+    }
+
+    @Test
+    void nombreDuplicadoSeRechazaAunqueCaigaEnOtroFragmento() {
+        Articulo primero = almacen.save(new Articulo(null, "Café", 2.0));
+        // Cada intento gasta un ID nuevo, así que caen en fragmentos distintos
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> almacen.save(new Articulo(null, "Café", 3.0)))
+                    .hasMessageContaining("Ya existe un artículo con el nombre");
+        }
+
+        assertThat(almacen.existsByNombre("Café")).isTrue();
+        assertThat(almacen.existsByNombreAndIdNot("Café", primero.getId())).isFalse();
+        assertThat(almacen.findAll()).extracting(Articulo::getNombre).containsExactly("Café");
+    }
+
+    @Test
+    void renombrarLiberaElNombreAnterior() {
+        Articulo articulo = almacen.save(new Articulo(null, "Té", 1.0));
+
+        almacen.save(new Articulo(articulo.getId(), "Té verde", 1.2));
+
+        assertThat(almacen.existsByNombre("Té")).isFalse();
+        assertThat(almacen.existsByNombre("Té verde")).isTrue();
+        assertThat(almacen.findById(articulo.getId())).get().extracting(Articulo::getNombre).isEqualTo("Té verde");
+        // El nombre anterior puede usarlo otro artículo
+        Articulo otro = almacen.save(new Articulo(null, "Té", 0.9));
+        assertThat(otro.getId()).isNotEqualTo(articulo.getId());
+    }
+
+    @Test
+    void renombrarSoloEnMayusculasOAcentosConCollationInsensible() {
+        // Como la collation por defecto de MySQL: "Café", "café" y "Cafe" son el mismo nombre
+        JdbcTemplate insensible = baseDeDatos(UUID.randomUUID() + "-insensible");
+        insensible.execute("SET COLLATION ENGLISH STRENGTH PRIMARY");
+        DirectorioNombres directorioInsensible = new DirectorioNombres(insensible);
+        directorioInsensible.inicializarEsquema();
+        GeneradorIds generadorInsensible = new GeneradorIds(insensible,
+                new TransactionTemplate(new DataSourceTransactionManager(insensible.getDataSource())), 10);
+        generadorInsensible.inicializarEsquema();
+        AlmacenArticulosFragmentado conCollation = new AlmacenArticulosFragmentado(
+                fragmentos, directorioInsensible, generadorInsensible, 1000, 2, Duration.ZERO);
+        try {
+            Articulo articulo = conCollation.save(new Articulo(null, "Café", 2.0));
+
+            conCollation.save(new Articulo(articulo.getId(), "café", 2.0));
+            conCollation.save(new Articulo(articulo.getId(), "Cafe", 2.5));
+
+            assertThat(conCollation.findById(articulo.getId())).get()
+                    .extracting(Articulo::getNombre).isEqualTo("Cafe");
+            // La reserva sigue siendo del artículo y bloquea a los demás
+            assertThat(conCollation.existsByNombreAndIdNot("CAFÉ", articulo.getId())).isFalse();
+            assertThatThrownBy(() -> conCollation.save(new Articulo(null, "CAFÉ", 1.0)))
+                    .hasMessageContaining("Ya existe un artículo con el nombre");
+        } finally {
+            conCollation.close();
+        }
+    }
+
+    @Test
+    void borrarLiberaElNombre() {
+        Articulo articulo = almacen.save(new Articulo(null, "Leche", 1.0));
+
+        almacen.deleteById(articulo.getId());
+
+        assertThat(almacen.findById(articulo.getId())).isEmpty();
+        assertThat(almacen.existsByNombre("Leche")).isFalse();
+    }
+
+    @Test
+    void guardarConIdInexistenteAsignaUnIdNuevo() {
+        Articulo articulo = almacen.save(new Articulo(12345L, "Pan", 1.0));
+
+        assertThat(articulo.getId()).isNotEqualTo(12345L);
+        assertThat(almacen.findById(12345L)).isEmpty();
+        assertThat(almacen.findById(articulo.getId())).isPresent();
+    }
+
+    @Test
+    void losIdsPorBloquesNoSeRepitenEntreInstancias() {
+        // Dos instancias de la aplicación comparten la tabla de secuencia
+        GeneradorIds otraInstancia = nuevoGenerador(10);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 55; i++) {
+            assertThat(ids.add(generador.siguienteId())).isTrue();
+            assertThat(ids.add(otraInstancia.siguienteId())).isTrue();
+        }
+        assertThat(ids).hasSize(110);
+    }
+
+    @Test
+    void reservaHuerfanaSeReparaAlReutilizarElNombre() {
+        // Simula una caída entre la reserva y el INSERT en el fragmento
+        directorio.reservar("Azúcar", 999L);
+
+        assertThat(almacen.existsByNombre("Azúcar")).isFalse();
+        Articulo articulo = almacen.save(new Articulo(null, "Azúcar", 1.0));
+        assertThat(directorio.buscar("Azúcar")).get()
+                .extracting(DirectorioNombres.Reserva::articuloId).isEqualTo(articulo.getId());
+    }
+
+    @Test
+    void reservaDeUnNombreQueElArticuloYaNoUsaSeRepara() {
+        // Simula que falló la liberación del nombre anterior tras un renombrado
+        Articulo articulo = almacen.save(new Articulo(null, "Sal fina", 1.0));
+        directorio.liberar("Sal fina", articulo.getId());
+        fragmentos.get(almacen.indiceFragmento(articulo.getId()))
+                .update("UPDATE articulo SET nombre = 'Sal gruesa' WHERE id = ?", articulo.getId());
+        directorio.reservar("Sal gruesa", articulo.getId());
+        directorio.reservar("Sal fina", articulo.getId());
+
+        almacen.save(new Articulo(null, "Sal fina", 1.5));
+
+        assertThat(almacen.findAll()).extracting(Articulo::getNombre).containsExactlyInAnyOrder("Sal gruesa", "Sal fina");
+    }
+
+    @Test
+    void reservaRecienteNoSeTocaDuranteElPeriodoDeGracia() {
+        AlmacenArticulosFragmentado conGracia = new AlmacenArticulosFragmentado(
+                fragmentos, directorio, generador, 1000, 2, Duration.ofMinutes(1));
+        try {
+            // Otro guardado acaba de reservar el nombre y aún no ha escrito
+            directorio.reservar("Harina", 999L);
+
+            assertThat(conGracia.existsByNombre("Harina")).isTrue();
+            assertThatThrownBy(() -> conGracia.save(new Articulo(null, "Harina", 1.0)))
+                    .hasMessageContaining("Ya existe un artículo con el nombre");
+        } finally {
+            conGracia.close();
+        }
+    }
+
+    @Test
+    void consultaATodosLosFragmentosTieneUnPlazoGlobal() {
+        // Los fragmentos no responden hasta que termina la prueba
+        CountDownLatch liberar = new CountDownLatch(1);
+        AlmacenArticulosFragmentado colgado = new AlmacenArticulosFragmentado(
+                fragmentosConEspera(() -> esperar(liberar)), directorio, generador, 300, 1, Duration.ZERO);
+        try {
+            long inicio = System.nanoTime();
+            assertThatThrownBy(colgado::findAll).isInstanceOf(QueryTimeoutException.class);
+            // Margen amplio: lo que importa es que no esperamos a los fragmentos colgados
+            assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            liberar.countDown();
+            colgado.close();
+        }
+    }
+
+    @Test
+    void consultasSimultaneasNoEsperanPorHilos() throws Exception {
+        // Cada consulta a un fragmento espera a que lleguen todas las de las dos
+        // consultas globales: solo terminan si las seis corren a la vez
+        CountDownLatch todas = new CountDownLatch(2 * FRAGMENTOS);
+        AlmacenArticulosFragmentado conBarrera = new AlmacenArticulosFragmentado(fragmentosConEspera(() -> {
+            todas.countDown();
+            if (!esperar(todas)) {
+                throw new IllegalStateException("Las consultas no se ejecutaron en paralelo");
+            }
+        }), directorio, generador, 10_000, 2, Duration.ZERO);
+        ExecutorService clientes = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Articulo>> una = clientes.submit(conBarrera::findAll);
+            Future<List<Articulo>> otra = clientes.submit(conBarrera::findAll);
+
+            assertThat(una.get()).isEmpty();
+            assertThat(otra.get()).isEmpty();
+        } finally {
+            clientes.shutdownNow();
+            conBarrera.close();
+        }
+    }
+
+    @Test
+    void migraElCatalogoDeLaTablaPrincipalUnaSolaVez() {
+        principal.execute("CREATE TABLE articulo (id BIGINT PRIMARY KEY, nombre VARCHAR(100) UNIQUE, precio DOUBLE PRECISION)");
+        principal.update("INSERT INTO articulo VALUES (5, 'Arroz', 1.1), (7, 'Aceite', 4.5), (40, 'Vinagre', 0.9)");
+        MigracionCatalogoPrincipal migracion = new MigracionCatalogoPrincipal(principal, almacen, generador);
+
+        assertThat(migracion.migrar()).isEqualTo(3);
+
+        assertThat(almacen.findAll()).extracting(Articulo::getId).containsExactly(5L, 7L, 40L);
+        assertThat(almacen.existsByNombre("Aceite")).isTrue();
+        assertThat(almacen.save(new Articulo(null, "Sal", 0.5)).getId()).isGreaterThan(40L);
+        // Lo nuevo de la tabla principal ya no se copia: la migración está marcada
+        principal.update("INSERT INTO articulo VALUES (41, 'Pimienta', 2.0)");
+        assertThat(migracion.migrar()).isZero();
+        assertThat(almacen.existsByNombre("Pimienta")).isFalse();
+    }
+
+    @Test
+    void sinTablaPrincipalNoHayNadaQueMigrar() {
+        MigracionCatalogoPrincipal migracion = new MigracionCatalogoPrincipal(principal, almacen, generador);
+
+        assertThat(migracion.migrar()).isZero();
+        assertThat(almacen.findAll()).isEmpty();
+    }
+
+    private GeneradorIds nuevoGenerador(int tamanoBloque) {
+        TransactionTemplate transaccion = new TransactionTemplate(
+                new DataSourceTransactionManager(principal.getDataSource()));
+        return new GeneradorIds(principal, transaccion, tamanoBloque);
+    }
+
+    /**
+     * Fragmentos que ejecutan una espera antes de cada listado
+     */
+    private List<JdbcTemplate> fragmentosConEspera(Runnable espera) {
+        List<JdbcTemplate> conEspera = new ArrayList<>();
+        for (JdbcTemplate fragmento : fragmentos) {
+            conEspera.add(new JdbcTemplate(fragmento.getDataSource()) {
+                @Override
+                public <T> List<T> query(String sql, RowMapper<T> mapeador) {
+                    espera.run();
+                    return super.query(sql, mapeador);
+                }
+            });
+        }
+        return conEspera;
+    }
+
+    private static JdbcTemplate baseDeDatos(String nombre) {
+        return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1"));
+    }
+
+    private static int filasConId(JdbcTemplate fragmento, long id) {
+        return fragmento.queryForObject("SELECT COUNT(*) FROM articulo WHERE id = ?", Integer.class, id);
+    }
+
+    private static boolean esperar(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
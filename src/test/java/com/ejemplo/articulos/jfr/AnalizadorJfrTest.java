@@ -0,0 +1,148 @@
+package com.ejemplo.articulos.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+
+/**
+ * Pruebas del analizador de grabaciones JFR
+ * 
+ * Los eventos se emiten en el propio proceso con una grabación, se vuelcan
+ * a un fichero temporal y se analizan como haría la herramienta.
+ */
+class AnalizadorJfrTest {
+
+    @Test
+    void percentilPorRangoMasCercano() {
+        List<Long> valores = List.of(7L, 3L, 10L, 1L, 5L, 2L, 9L, 4L, 8L, 6L);
+
+        assertThat(AnalizadorJfr.percentil(valores, 50)).isEqualTo(5);
+        assertThat(AnalizadorJfr.percentil(valores, 95)).isEqualTo(10);
+        assertThat(AnalizadorJfr.percentil(valores, 10)).isEqualTo(1);
+        assertThat(AnalizadorJfr.percentil(valores, 100)).isEqualTo(10);
+        assertThat(AnalizadorJfr.percentil(List.of(), 95)).isZero();
+    }
+
+    @Test
+    void otrosEsLoQueNoCubrenLasFases() {
+        AnalizadorJfr.Peticion peticion = new AnalizadorJfr.Peticion();
+        peticion.duracionNanos = 1_000;
+        peticion.fases.put("repositorio", 600L);
+        peticion.fases.put("serializacion", 150L);
+
+        assertThat(peticion.otrosNanos()).isEqualTo(250);
+    }
+
+    @Test
+    void lecturaQueSobreviveALaPeticionNoRestaOtrosDeLasDemas() {
+        // La lectura siguió en su hilo después de que la petición se rindiera
+        AnalizadorJfr.Peticion abandonada = new AnalizadorJfr.Peticion();
+        abandonada.duracionNanos = 1_000;
+        abandonada.fases.put("repositorio", 5_000L);
+        AnalizadorJfr.Peticion normal = new AnalizadorJfr.Peticion();
+        normal.duracionNanos = 1_000;
+
+        assertThat(abandonada.otrosNanos()).isZero();
+        assertThat(normal.otrosNanos()).isEqualTo(1_000);
+    }
+
+    @Test
+    void asignadoTotalSumaSoloLoDeOtrosHilos() {
+        AnalizadorJfr.Peticion peticion = new AnalizadorJfr.Peticion();
+        peticion.hiloPeticion = 1;
+        peticion.bytesAsignados = 1_000;
+        // Lo del hilo de la petición ya está en bytesAsignados
+        peticion.asignadoRepositorio.put(1L, 300L);
+        peticion.asignadoRepositorio.put(2L, 500L);
+        peticion.asignadoRepositorio.put(3L, 200L);
+
+        assertThat(peticion.asignadoTotal()).isEqualTo(1_700);
+    }
+
+    @Test
+    void agrupaLosEventosDeUnaGrabacionPorPeticion() throws Exception {
+        Path fichero = Files.createTempFile("analizador", ".jfr");
+        try {
+            try (Recording grabacion = new Recording()) {
+                grabacion.enable(PeticionEvent.NOMBRE);
+                grabacion.enable(RepositorioEvent.NOMBRE);
+                grabacion.enable(SerializacionEvent.NOMBRE);
+                grabacion.start();
+
+                emitirRepositorio(42, 2, 300);
+                // Lectura hecha en un hilo lectura-bd-*: su memoria no está en la de la petición
+                Thread lectura = new Thread(() -> emitirRepositorio(42, 3, 500));
+                lectura.start();
+                lectura.join();
+                emitirSerializacion(42, 128);
+                emitirPeticion(42, "GET /api/articulos", 1_000);
+                emitirPeticion(43, "GET /api/articulos/{id}", 100);
+                // Refresco de la copia en memoria: no pertenece a ninguna petición
+                emitirRepositorio(0, 10, 0);
+
+                grabacion.stop();
+                grabacion.dump(fichero);
+            }
+
+            AnalizadorJfr.Analisis analisis = AnalizadorJfr.analizar(fichero);
+
+            assertThat(analisis.porEndpoint()).containsOnlyKeys("GET /api/articulos", "GET /api/articulos/{id}");
+            assertThat(analisis.porEndpoint().get("GET /api/articulos")).singleElement().satisfies(peticion -> {
+                assertThat(peticion.llamadasRepositorio).isEqualTo(2);
+                assertThat(peticion.filas).isEqualTo(5);
+                assertThat(peticion.bytesJson).isEqualTo(128);
+                assertThat(peticion.fases).containsOnlyKeys("repositorio", "serializacion");
+                assertThat(peticion.asignadoTotal()).isEqualTo(1_500);
+            });
+            assertThat(analisis.segundoPlano()).containsOnlyKeys("repositorio");
+
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            AnalizadorJfr.imprimir(analisis, new PrintStream(salida, true, StandardCharsets.UTF_8));
+            assertThat(salida.toString(StandardCharsets.UTF_8))
+                    .contains("GET /api/articulos/{id}", "otros", "2.0 llamadas/petición", "Sin petición asociada");
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+
+    private static void emitirPeticion(long peticionId, String endpoint, long bytesAsignados) {
+        PeticionEvent evento = new PeticionEvent();
+        evento.begin();
+        evento.end();
+        evento.peticionId = peticionId;
+        evento.endpoint = endpoint;
+        evento.estado = 200;
+        evento.bytesAsignados = bytesAsignados;
+        evento.commit();
+    }
+
+    private static void emitirRepositorio(long peticionId, long filas, long bytesAsignados) {
+        RepositorioEvent evento = new RepositorioEvent();
+        evento.begin();
+        evento.end();
+        evento.peticionId = peticionId;
+        evento.operacion = "findAll";
+        evento.filas = filas;
+        evento.bytesAsignados = bytesAsignados;
+        evento.commit();
+    }
+
+    private static void emitirSerializacion(long peticionId, long bytes) {
+        SerializacionEvent evento = new SerializacionEvent();
+        evento.begin();
+        evento.end();
+        evento.peticionId = peticionId;
+        evento.elementos = 1;
+        evento.bytes = bytes;
+        evento.commit();
+    }
+}
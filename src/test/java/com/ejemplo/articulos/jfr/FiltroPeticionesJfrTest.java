@@ -0,0 +1,78 @@
+package com.ejemplo.articulos.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Pruebas del filtro que emite un evento JFR por petición
+ */
+class FiltroPeticionesJfrTest {
+
+    private final FiltroPeticionesJfr filtro = new FiltroPeticionesJfr();
+
+    @Test
+    void excepcionSinManejarSeGrabaComo500() throws Exception {
+        List<RecordedEvent> eventos;
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(PeticionEvent.NOMBRE);
+            grabacion.start();
+            FilterChain falla = (peticion, respuesta) -> {
+                throw new IllegalStateException("sin copia en memoria");
+            };
+            assertThatThrownBy(() -> filtro.doFilter(peticion(), new MockHttpServletResponse(), falla))
+                    .isInstanceOf(IllegalStateException.class);
+            eventos = leer(grabacion);
+        }
+
+        assertThat(eventos).singleElement()
+                .satisfies(evento -> assertThat(evento.getInt("estado")).isEqualTo(500));
+    }
+
+    @Test
+    void grabacionQueEmpiezaAMitadDePeticionNoCuentaLaMemoriaDeTodoElHilo() throws Exception {
+        long asignadoAntes = MedidorAsignacion.bytesAsignados();
+        List<RecordedEvent> eventos;
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(PeticionEvent.NOMBRE);
+            // La grabación arranca cuando la petición ya está en marcha
+            FilterChain arrancaGrabacion = (peticion, respuesta) -> grabacion.start();
+            filtro.doFilter(peticion(), new MockHttpServletResponse(), arrancaGrabacion);
+            eventos = leer(grabacion);
+        }
+
+        assertThat(eventos).singleElement()
+                .satisfies(evento -> assertThat(evento.getLong("bytesAsignados")).isLessThan(asignadoAntes));
+    }
+
+    private static MockHttpServletRequest peticion() {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("GET", "/api/articulos");
+        peticion.setServletPath("/api/articulos");
+        return peticion;
+    }
+
+    private static List<RecordedEvent> leer(Recording grabacion) throws Exception {
+        grabacion.stop();
+        Path fichero = Files.createTempFile("filtro", ".jfr");
+        try {
+            grabacion.dump(fichero);
+            return RecordingFile.readAllEvents(fichero).stream()
+                    .filter(evento -> evento.getEventType().getName().equals(PeticionEvent.NOMBRE))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+}
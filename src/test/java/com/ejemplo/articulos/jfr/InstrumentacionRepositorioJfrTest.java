@@ -0,0 +1,97 @@
+package com.ejemplo.articulos.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.repository.ArticuloRepository;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Pruebas del interceptor que emite un evento JFR por llamada al repositorio
+ */
+class InstrumentacionRepositorioJfrTest {
+
+    private final ArticuloRepository destino = mock(ArticuloRepository.class);
+
+    private final ArticuloRepository repositorio = (ArticuloRepository)
+            new InstrumentacionRepositorioJfr().postProcessAfterInitialization(destino, "articuloRepository");
+
+    @Test
+    void cuentaFilasYBuscaElIdDelArticulo() throws Exception {
+        when(destino.findAll()).thenReturn(List.of(
+                new Articulo(1L, "Lápiz", 1.0), new Articulo(2L, "Goma", 0.5), new Articulo(3L, "Regla", 2.0)));
+        when(destino.findById(7L)).thenReturn(Optional.of(new Articulo(7L, "Cuaderno", 3.0)));
+        when(destino.findById(8L)).thenReturn(Optional.empty());
+        when(destino.existsByNombre("Lápiz")).thenReturn(true);
+
+        List<RecordedEvent> eventos;
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(RepositorioEvent.NOMBRE);
+            grabacion.start();
+            repositorio.findAll();
+            repositorio.findById(7L);
+            repositorio.findById(8L);
+            repositorio.deleteById(9L);
+            repositorio.existsByNombre("Lápiz");
+            repositorio.toString();
+            eventos = leer(grabacion);
+        }
+
+        assertThat(eventos).extracting(evento -> evento.getString("operacion"))
+                .containsExactly("findAll", "findById", "findById", "deleteById", "existsByNombre");
+        assertThat(eventos).extracting(evento -> evento.getLong("filas"))
+                .containsExactly(3L, 1L, 0L, 1L, 1L);
+        // Sin resultado el ID sale del argumento
+        assertThat(eventos).extracting(evento -> evento.getLong("articuloId"))
+                .containsExactly(0L, 7L, 8L, 9L, 0L);
+        assertThat(eventos).allSatisfy(evento -> assertThat(evento.getLong("peticionId")).isZero());
+    }
+
+    @Test
+    void llamadaFallidaGuardaLaClaseDeLaExcepcion() throws Exception {
+        when(destino.findAll()).thenThrow(new IllegalStateException("sin conexión"));
+
+        List<RecordedEvent> eventos;
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(RepositorioEvent.NOMBRE);
+            grabacion.start();
+            try {
+                repositorio.findAll();
+            } catch (IllegalStateException esperada) {
+                // El interceptor relanza la excepción tal cual
+            }
+            eventos = leer(grabacion);
+        }
+
+        assertThat(eventos).singleElement().satisfies(evento -> {
+            assertThat(evento.getString("error")).isEqualTo(IllegalStateException.class.getName());
+            assertThat(evento.getLong("filas")).isZero();
+        });
+    }
+
+    private static List<RecordedEvent> leer(Recording grabacion) throws Exception {
+        grabacion.stop();
+        Path fichero = Files.createTempFile("repositorio", ".jfr");
+        try {
+            grabacion.dump(fichero);
+            return RecordingFile.readAllEvents(fichero).stream()
+                    .filter(evento -> evento.getEventType().getName().equals(RepositorioEvent.NOMBRE))
+                    .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+}
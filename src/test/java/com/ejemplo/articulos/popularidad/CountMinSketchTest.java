@@ -0,0 +1,70 @@
+package com.ejemplo.articulos.popularidad;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del count-min sketch
+ */
+class CountMinSketchTest {
+
+    @Test
+    void cuentaExactaSinColisiones() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 5; i++) {
+            sketch.incrementar(7);
+        }
+        sketch.incrementar(8);
+
+        assertThat(sketch.estimar(7)).isEqualTo(5);
+        assertThat(sketch.estimar(8)).isEqualTo(1);
+        assertThat(sketch.estimar(9)).isZero();
+    }
+
+    @Test
+    void incrementarDevuelveLaEstimacionActualizada() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        assertThat(sketch.incrementar(3)).isEqualTo(1);
+        assertThat(sketch.incrementar(3)).isEqualTo(2);
+    }
+
+    @Test
+    void nuncaSubestimaAunqueHayaColisiones() {
+        // Un sketch diminuto obliga a que muchas claves compartan contadores
+        CountMinSketch sketch = new CountMinSketch(2, 8);
+        for (long clave = 0; clave < 200; clave++) {
+            for (int i = 0; i <= clave % 5; i++) {
+                sketch.incrementar(clave);
+            }
+        }
+
+        for (long clave = 0; clave < 200; clave++) {
+            assertThat(sketch.estimar(clave)).isGreaterThanOrEqualTo(clave % 5 + 1);
+        }
+    }
+
+    @Test
+    void decaerDivideLosContadoresALaMitad() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 9; i++) {
+            sketch.incrementar(1);
+        }
+
+        sketch.decaer();
+        assertThat(sketch.estimar(1)).isEqualTo(4);
+        sketch.decaer();
+        sketch.decaer();
+        sketch.decaer();
+        assertThat(sketch.estimar(1)).isZero();
+    }
+
+    @Test
+    void rechazaDimensionesInvalidas() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(9, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
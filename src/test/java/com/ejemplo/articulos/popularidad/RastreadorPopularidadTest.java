@@ -0,0 +1,104 @@
+package com.ejemplo.articulos.popularidad;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del rastreador de artículos populares
+ */
+class RastreadorPopularidadTest {
+
+    private final RastreadorPopularidad rastreador = new RastreadorPopularidad(3, 4, 1024);
+
+    @Test
+    void ordenaDeMasAMenosLeido() {
+        leer(1L, 2);
+        leer(2L, 5);
+        leer(3L, 3);
+
+        assertThat(rastreador.articulosMasPopulares()).containsExactly(2L, 3L, 1L);
+        assertThat(rastreador.ranking()).first().extracting(Map.Entry::getValue).isEqualTo(5L);
+    }
+
+    @Test
+    void conservaComoMuchoKArticulos() {
+        for (long id = 1; id <= 10; id++) {
+            leer(id, (int) id);
+        }
+
+        assertThat(rastreador.articulosMasPopulares()).containsExactly(10L, 9L, 8L);
+    }
+
+    @Test
+    void unArticuloPocoLeidoNoEntraConLaListaLlena() {
+        leer(1L, 5);
+        leer(2L, 5);
+        leer(3L, 5);
+
+        leer(4L, 1);
+
+        assertThat(rastreador.articulosMasPopulares()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void unArticuloQueSuperaAlMenosLeidoLoDesplaza() {
+        leer(1L, 5);
+        leer(2L, 4);
+        leer(3L, 2);
+
+        leer(4L, 3);
+
+        assertThat(rastreador.articulosMasPopulares()).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void elDecaimientoReduceFrecuenciasYSacaLosQueLleganACero() {
+        leer(1L, 8);
+        leer(2L, 1);
+        rastreador.registrarListado();
+        rastreador.registrarListado();
+
+        rastreador.decaer();
+
+        assertThat(rastreador.estimarFrecuencia(1L)).isEqualTo(4);
+        assertThat(rastreador.articulosMasPopulares()).containsExactly(1L);
+        assertThat(rastreador.getAccesosListado()).isEqualTo(1);
+    }
+
+    @Test
+    void trasElDecaimientoEntranArticulosNuevos() {
+        leer(1L, 4);
+        leer(2L, 4);
+        leer(3L, 4);
+        rastreador.decaer();
+        rastreador.decaer();
+
+        // Ahora los tres valen 1: uno nuevo con 2 lecturas debe desplazar a alguno
+        leer(4L, 2);
+
+        assertThat(rastreador.articulosMasPopulares()).hasSize(3).first().isEqualTo(4L);
+    }
+
+    @Test
+    void ignoraIdsNulos() {
+        rastreador.registrarAcceso(null);
+
+        assertThat(rastreador.articulosMasPopulares()).isEmpty();
+        assertThat(rastreador.estimarFrecuencia(null)).isZero();
+    }
+
+    @Test
+    void rechazaTopKNoPositivo() {
+        assertThatThrownBy(() -> new RastreadorPopularidad(0, 4, 1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void leer(Long id, int veces) {
+        for (int i = 0; i < veces; i++) {
+            rastreador.registrarAcceso(id);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ejemplo.articulos.resiliencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+/**
+ * Pruebas del circuit breaker de la base de datos
+ */
+class CircuitoBaseDatosTest {
+
+    // Abre tras 2 fallos, lenta a partir de 1 s, lecturas de 200 ms, 50 ms abierto
+    private final CircuitoBaseDatos circuito = new CircuitoBaseDatos(2, 1000, 200, 50, 2);
+
+    @AfterEach
+    void cerrar() {
+        circuito.cerrar();
+    }
+
+    @Test
+    void erroresDeNegocioNoAbrenElCircuito() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> circuito.ejecutar(() -> {
+                throw new DataIntegrityViolationException("nombre duplicado");
+            })).isInstanceOf(DataIntegrityViolationException.class);
+            assertThatThrownBy(() -> circuito.ejecutar(() -> {
+                throw new RuntimeException("Ya existe un artículo con el nombre: Café");
+            })).hasMessageContaining("Ya existe");
+        }
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.CERRADO);
+    }
+
+    @Test
+    void fallosDeInfraestructuraAbrenElCircuito() {
+        // Aunque el circuito siga cerrado, el llamador recibe "no disponible"
+        assertThatThrownBy(() -> circuito.ejecutar(() -> {
+            throw new CannotGetJdbcConnectionException("sin conexión");
+        })).isInstanceOf(ServicioNoDisponibleException.class)
+                .hasCauseInstanceOf(CannotGetJdbcConnectionException.class);
+        assertThatThrownBy(() -> circuito.ejecutar(() -> {
+            throw new QueryTimeoutException("lenta");
+        }));
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.ABIERTO);
+        // Con el circuito abierto las llamadas fallan sin ejecutarse
+        assertThatThrownBy(() -> circuito.ejecutar(() -> "no debería ejecutarse"))
+                .isInstanceOf(ServicioNoDisponibleException.class);
+    }
+
+    @Test
+    void lecturaQueNoRespondeCuentaComoFallo() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> circuito.ejecutarLectura(() -> {
+                dormir(1000);
+                return "tarde";
+            })).isInstanceOf(ServicioNoDisponibleException.class);
+        }
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.ABIERTO);
+    }
+
+    @Test
+    void picoDeLecturasConLaBaseDeDatosSanaNoAbreElCircuito() {
+        // Dos hilos de lectura y cuarenta lecturas a la vez: esperan turno
+        CircuitoBaseDatos saturado = new CircuitoBaseDatos(2, 1000, 2000, 50, 2);
+        ExecutorService clientes = Executors.newFixedThreadPool(40);
+        try {
+            List<CompletableFuture<String>> lecturas = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                lecturas.add(CompletableFuture.supplyAsync(() -> saturado.ejecutarLectura(() -> {
+                    dormir(5);
+                    return "ok";
+                }), clientes));
+            }
+
+            assertThat(lecturas).allSatisfy(lectura -> assertThat(lectura.join()).isEqualTo("ok"));
+            assertThat(saturado.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.CERRADO);
+        } finally {
+            clientes.shutdownNow();
+            saturado.cerrar();
+        }
+    }
+
+    @Test
+    void quedarseSinTurnoDeLecturaNoCuentaComoFallo() throws Exception {
+        CircuitoBaseDatos unHilo = new CircuitoBaseDatos(2, 1000, 200, 50, 1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            // Ocupa el único hilo de lectura
+            CompletableFuture<String> ocupada = CompletableFuture.supplyAsync(() -> unHilo.ejecutarLectura(() -> {
+                esperar(liberar);
+                return "tarde";
+            }));
+            assertThatThrownBy(ocupada::join).hasCauseInstanceOf(ServicioNoDisponibleException.class);
+
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> unHilo.ejecutarLectura(() -> "sin turno"))
+                        .isInstanceOf(LecturasSaturadasException.class);
+            }
+            // Solo la lectura colgada cuenta como fallo, y hacen falta dos
+            assertThat(unHilo.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.CERRADO);
+        } finally {
+            liberar.countDown();
+            unHilo.cerrar();
+        }
+    }
+
+    @Test
+    void llamadaQueTerminaConElCircuitoAbiertoNoLoCierra() {
+        CircuitoBaseDatos largo = new CircuitoBaseDatos(2, 1000, 200, 60_000, 2);
+        CountDownLatch dentro = new CountDownLatch(2);
+        CountDownLatch abierto = new CountDownLatch(1);
+        ExecutorService clientes = Executors.newFixedThreadPool(2);
+        try {
+            // Empiezan con el circuito cerrado y terminan cuando ya está abierto
+            CompletableFuture<String> exito = CompletableFuture.supplyAsync(() -> largo.ejecutar(() -> {
+                dentro.countDown();
+                esperar(abierto);
+                return "ok";
+            }), clientes);
+            CompletableFuture<String> errorNegocio = CompletableFuture.supplyAsync(() -> largo.ejecutar(() -> {
+                dentro.countDown();
+                esperar(abierto);
+                throw new DataIntegrityViolationException("nombre duplicado");
+            }), clientes);
+            esperar(dentro);
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> largo.ejecutar(() -> {
+                    throw new CannotGetJdbcConnectionException("sin conexión");
+                }));
+            }
+            assertThat(largo.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.ABIERTO);
+
+            abierto.countDown();
+            assertThat(exito.join()).isEqualTo("ok");
+            assertThatThrownBy(errorNegocio::join).hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+            assertThat(largo.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.ABIERTO);
+        } finally {
+            abierto.countDown();
+            clientes.shutdownNow();
+            largo.cerrar();
+        }
+    }
+
+    @Test
+    void pasadoElTiempoUnaLlamadaExitosaCierraElCircuito() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> circuito.ejecutar(() -> {
+                throw new CannotGetJdbcConnectionException("sin conexión");
+            }));
+        }
+        dormir(100);
+
+        assertThat(circuito.ejecutar(() -> "ok")).isEqualTo("ok");
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoBaseDatos.Estado.CERRADO);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
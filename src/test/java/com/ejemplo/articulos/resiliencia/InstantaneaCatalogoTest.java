@@ -0,0 +1,153 @@
+package com.ejemplo.articulos.resiliencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.popularidad.RastreadorPopularidad;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+
+/**
+ * Pruebas de la copia en memoria del catálogo
+ * 
+ * Casi todas usan solo los métodos de actualización, así que no hace falta
+ * almacén, circuit breaker ni rastreador de popularidad.
+ */
+class InstantaneaCatalogoTest {
+
+    private InstantaneaCatalogo instantanea;
+
+    @BeforeEach
+    void crear() {
+        instantanea = new InstantaneaCatalogo(null, null, null);
+    }
+
+    @Test
+    void escrituraPosteriorAlInicioSobreviveAlListado() {
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0)), instantanea.inicioLectura());
+
+        long inicio = instantanea.inicioLectura();
+        instantanea.actualizarArticulo(articulo(2, "Té", 2.0));
+        // El listado se leyó antes de la escritura y no la incluye
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0)), inicio);
+
+        assertThat(instantanea.buscar(2L)).map(Articulo::getNombre).contains("Té");
+        assertThat(instantanea.listado().orElseThrow()).extracting(Articulo::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void borradoPosteriorAlInicioSobreviveAlListado() {
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0), articulo(2, "Té", 2.0)), instantanea.inicioLectura());
+
+        long inicio = instantanea.inicioLectura();
+        instantanea.quitarArticulo(2L);
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0), articulo(2, "Té", 2.0)), inicio);
+
+        assertThat(instantanea.buscar(2L)).isEmpty();
+    }
+
+    @Test
+    void listadoMasViejoNoPisaAUnoMasNuevo() {
+        long viejo = instantanea.inicioLectura();
+        instantanea.actualizarArticulo(articulo(1, "Café", 3.0));
+        long nuevo = instantanea.inicioLectura();
+
+        instantanea.actualizar(List.of(articulo(1, "Café", 4.0)), nuevo);
+        instantanea.actualizar(List.of(articulo(1, "Café", 1.0)), viejo);
+
+        assertThat(instantanea.buscar(1L)).map(Articulo::getPrecio).contains(4.0);
+    }
+
+    @Test
+    void escrituraAnteriorAlListadoNoSeReaplica() {
+        instantanea.actualizar(List.of(), instantanea.inicioLectura());
+        instantanea.actualizarArticulo(articulo(1, "Café", 3.0));
+
+        // Este listado empezó después de la escritura y trae un precio aún más nuevo
+        instantanea.actualizar(List.of(articulo(1, "Café", 5.0)), instantanea.inicioLectura());
+
+        assertThat(instantanea.buscar(1L)).map(Articulo::getPrecio).contains(5.0);
+    }
+
+    @Test
+    void lecturaDePopularesNoPisaEscriturasPosteriores() {
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0), articulo(2, "Té", 2.0)), instantanea.inicioLectura());
+
+        long inicio = instantanea.inicioLectura();
+        instantanea.actualizarArticulo(articulo(1, "Café", 9.0));
+        instantanea.actualizarArticulos(Map.of(
+                1L, Optional.of(articulo(1, "Café", 3.5)),
+                2L, Optional.of(articulo(2, "Té", 2.5))), inicio);
+
+        assertThat(instantanea.buscar(1L)).map(Articulo::getPrecio).contains(9.0);
+        assertThat(instantanea.buscar(2L)).map(Articulo::getPrecio).contains(2.5);
+    }
+
+    @Test
+    void lecturaDePopularesQuitaLosQueYaNoExisten() {
+        instantanea.actualizar(List.of(articulo(1, "Café", 3.0)), instantanea.inicioLectura());
+
+        instantanea.actualizarArticulos(Map.of(1L, Optional.empty()), instantanea.inicioLectura());
+
+        assertThat(instantanea.buscar(1L)).isEmpty();
+    }
+
+    @Test
+    void copiaParcialSoloGuardaLosPopulares() {
+        RastreadorPopularidad rastreador = new RastreadorPopularidad(2, 4, 1024);
+        AlmacenArticulos almacen = mock(AlmacenArticulos.class);
+        when(almacen.findById(1L)).thenReturn(Optional.of(articulo(1, "Café", 3.0)));
+        when(almacen.findById(2L)).thenReturn(Optional.of(articulo(2, "Té", 2.0)));
+        when(almacen.findById(3L)).thenReturn(Optional.of(articulo(3, "Pan", 1.0)));
+        CircuitoBaseDatos circuito = new CircuitoBaseDatos(5, 1000, 2000, 1000, 2);
+        try {
+            InstantaneaCatalogo parcial = new InstantaneaCatalogo(almacen, circuito, rastreador, true);
+            leer(rastreador, 1L, 3);
+            leer(rastreador, 2L, 2);
+
+            // Ni el refresco completo ni los listados llenan la copia
+            parcial.refrescar();
+            parcial.actualizar(List.of(articulo(9, "Sal", 1.0)), parcial.inicioLectura());
+            parcial.refrescarPopulares();
+
+            assertThat(parcial.completa()).isFalse();
+            assertThat(parcial.listado()).isEmpty();
+            assertThat(parcial.buscar(1L)).isPresent();
+            assertThat(parcial.buscar(2L)).isPresent();
+            assertThat(parcial.buscar(9L)).isEmpty();
+            verify(almacen, never()).findAll();
+
+            // Un artículo nuevo no entra hasta que se vuelve popular
+            parcial.actualizarArticulo(articulo(4, "Leche", 1.2));
+            assertThat(parcial.buscar(4L)).isEmpty();
+
+            // El que deja de ser popular sale de la copia
+            leer(rastreador, 3L, 10);
+            parcial.refrescarPopulares();
+            assertThat(parcial.buscar(3L)).isPresent();
+            assertThat(parcial.buscar(2L)).isEmpty();
+        } finally {
+            circuito.cerrar();
+        }
+    }
+
+    private static void leer(RastreadorPopularidad rastreador, long id, int veces) {
+        for (int i = 0; i < veces; i++) {
+            rastreador.registrarAcceso(id);
+        }
+    }
+
+    private static Articulo articulo(long id, String nombre, double precio) {
+        return new Articulo(id, nombre, precio);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ejemplo.articulos.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import com.ejemplo.articulos.model.Articulo;
+import com.ejemplo.articulos.popularidad.RastreadorPopularidad;
+import com.ejemplo.articulos.repository.AlmacenArticulos;
+import com.ejemplo.articulos.resiliencia.CircuitoBaseDatos;
+import com.ejemplo.articulos.resiliencia.InstantaneaCatalogo;
+import com.ejemplo.articulos.resiliencia.ServicioNoDisponibleException;
+
+/**
+ * Pruebas del servicio de artículos con un almacén simulado
+ */
+class ArticuloServiceImplTest {
+
+    private final AlmacenArticulos almacen = mock(AlmacenArticulos.class);
+    private final RastreadorPopularidad rastreador = new RastreadorPopularidad(5, 4, 1024);
+    private final CircuitoBaseDatos circuito = new CircuitoBaseDatos(5, 1000, 2000, 1000, 2);
+    private ArticuloServiceImpl servicio;
+
+    @BeforeEach
+    void crear() {
+        servicio = new ArticuloServiceImpl(almacen, rastreador, circuito,
+                new InstantaneaCatalogo(almacen, circuito, rastreador));
+        when(almacen.findById(1L)).thenReturn(Optional.of(new Articulo(1L, "Café", 3.0)));
+        when(almacen.findById(2L)).thenReturn(Optional.of(new Articulo(2L, "Té", 2.0)));
+    }
+
+    @AfterEach
+    void cerrar() {
+        circuito.cerrar();
+    }
+
+    @Test
+    void soloLasLecturasDeClienteCuentanParaLaPopularidad() {
+        for (int i = 0; i < 5; i++) {
+            servicio.leerArticuloPorId(1L);
+        }
+        // Las comprobaciones previas a un PUT o DELETE no son lecturas
+        for (int i = 0; i < 8; i++) {
+            servicio.obtenerArticuloPorId(2L);
+        }
+
+        assertThat(rastreador.estimarFrecuencia(1L)).isEqualTo(5);
+        assertThat(rastreador.estimarFrecuencia(2L)).isZero();
+        assertThat(rastreador.articulosMasPopulares()).containsExactly(1L);
+    }
+
+    @Test
+    void conCopiaParcialUnIdDesconocidoNoSeDaPorInexistente() {
+        ArticuloServiceImpl fragmentado = new ArticuloServiceImpl(almacen, rastreador, circuito,
+                new InstantaneaCatalogo(almacen, circuito, rastreador, true));
+        when(almacen.findById(5L)).thenThrow(new CannotGetJdbcConnectionException("sin conexión"));
+
+        // Sin la copia completa no sabemos si existe: 503 en lugar de 404
+        assertThatThrownBy(() -> fragmentado.obtenerArticuloPorId(5L))
+                .isInstanceOf(ServicioNoDisponibleException.class);
+    }
+}